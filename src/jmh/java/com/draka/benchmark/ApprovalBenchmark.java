@@ -0,0 +1,177 @@
+package com.draka.benchmark;
+
+import com.draka.StudentAllocationSystemApplication;
+import com.draka.TestData;
+import com.draka.dto.ApprovalRequest;
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Lecturer;
+import com.draka.entity.Semester;
+import com.draka.enums.AllocationStatus;
+import com.draka.repository.AllocationRepository;
+import com.draka.service.AllocationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturers approving a burst of pending requests from many threads: through
+ * AllocationService (one conditional seat claim and one PENDING-guarded status update),
+ * and through the read-modify-write the service did before, which loads the allocation
+ * and its course, writes the incremented enrollment back and saves the allocation.
+ * Boots the application (test profile, in-memory H2, no web server) once per path.
+ *
+ * Capacity is never reached, so both paths approve every request; the old path would
+ * also overbook a nearly full course, which AllocationServiceTest covers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ApprovalBenchmark {
+    
+    private static final int REQUESTS = 1_000;
+    
+    private static final int COURSES = 4;
+    
+    @Param({"1", "16"})
+    public int clients;
+    
+    @Param({"guarded", "readModifyWrite"})
+    public String path;
+    
+    private ConfigurableApplicationContext context;
+    
+    private AllocationService allocationService;
+    
+    private AllocationRepository allocationRepository;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    private JdbcTemplate jdbcTemplate;
+    
+    private EntityManagerFactory entityManagerFactory;
+    
+    private TestData testData;
+    
+    private Department department;
+    
+    private final List<Course> courses = new ArrayList<>();
+    
+    private final List<Long> allocationIds = new ArrayList<>();
+    
+    private ExecutorService executor;
+    
+    @Setup
+    public void setUp() {
+        // devtools is on the test classpath; its restarter would re-run the benchmark
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = SpringApplication.run(StudentAllocationSystemApplication.class,
+                "--spring.profiles.active=test",
+                "--spring.main.web-application-type=none",
+                "--logging.level.root=WARN",
+                "--logging.level.com.draka=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        allocationService = context.getBean(AllocationService.class);
+        allocationRepository = context.getBean(AllocationRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        testData = context.getBean(TestData.class);
+        
+        department = testData.department();
+        Semester semester = testData.semester();
+        Lecturer lecturer = testData.lecturer(department);
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(testData.course(department, semester, lecturer, Integer.MAX_VALUE));
+        }
+        executor = Executors.newFixedThreadPool(clients);
+    }
+    
+    /**
+     * Fresh pending requests for every iteration.
+     */
+    @Setup(Level.Iteration)
+    public void createRequests() {
+        allocationIds.clear();
+        for (int i = 0; i < REQUESTS; i++) {
+            Allocation allocation = new Allocation();
+            allocation.setStudent(testData.student(department, 3.5));
+            allocation.setCourse(courses.get(i % COURSES));
+            allocationIds.add(allocationRepository.save(allocation).getId());
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+    
+    @Benchmark
+    public int approvals() {
+        boolean guarded = path.equals("guarded");
+        List<CompletableFuture<?>> approvals = new ArrayList<>(REQUESTS);
+        for (Long allocationId : allocationIds) {
+            approvals.add(CompletableFuture.runAsync(() -> {
+                if (guarded) {
+                    allocationService.processEnrollmentRequest(
+                            new ApprovalRequest(allocationId, AllocationStatus.APPROVED, null));
+                } else {
+                    readModifyWrite(allocationId);
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(approvals.toArray(CompletableFuture[]::new)).join();
+        return approvals.size();
+    }
+    
+    /**
+     * The approval as it was before seats were claimed with a conditional update. The
+     * enrollment column is no longer updatable through the entity, so it is written with
+     * the same UPDATE the old flush issued, and the course is evicted afterwards as every
+     * counter writer has to now that courses are in the second-level cache.
+     */
+    private void readModifyWrite(Long allocationId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Allocation allocation = allocationRepository.findById(allocationId).orElseThrow();
+            if (allocation.getStatus() != AllocationStatus.PENDING) {
+                throw new IllegalStateException("Allocation " + allocationId + " is not pending");
+            }
+            allocation.setStatus(AllocationStatus.APPROVED);
+            allocation.setApprovedAt(LocalDateTime.now());
+            Course course = allocation.getCourse();
+            jdbcTemplate.update("UPDATE courses SET current_enrollment = ? WHERE id = ?",
+                    course.getCurrentEnrollment() + 1, course.getId());
+            allocationRepository.save(allocation);
+            entityManagerFactory.getCache().evict(Course.class, course.getId());
+        });
+    }
+}
@@ -0,0 +1,188 @@
+package com.draka.benchmark;
+
+import com.draka.enums.AllocationStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.internal.DatasourceConnectionProviderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Inserting 100k allocation rows through Hibernate with IDENTITY ids (one round trip per
+ * row, batching disabled) and with pooled SEQUENCE ids and JDBC batching, as the entities
+ * are now mapped. The rows mirror the allocations table without foreign keys.
+ *
+ * Runs on in-memory H2 by default; pass JMH's -p jdbcUrl=... to measure against PostgreSQL
+ * (add reWriteBatchedInserts=true to the URL, as in application.properties).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+    
+    private static final int ROWS = 100_000;
+    
+    private static final int BATCH_SIZE = 50;
+    
+    @Param("jdbc:h2:mem:bulk-insert;DB_CLOSE_DELAY=-1")
+    public String jdbcUrl;
+    
+    @Param("sa")
+    public String username;
+    
+    @Param("")
+    public String password;
+    
+    private SessionFactory sessionFactory;
+    
+    @Setup
+    public void setUp() {
+        // Native bootstrap only reads the deprecated hibernate.connection.* keys, not the
+        // jakarta.persistence.jdbc.* ones, so hand it a DataSource-backed provider instead
+        DatasourceConnectionProviderImpl connections = new DatasourceConnectionProviderImpl();
+        connections.setDataSource(new DriverManagerDataSource(jdbcUrl, username, password));
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.CONNECTION_PROVIDER, connections)
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, BATCH_SIZE)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(IdentityAllocation.class)
+                .addAnnotatedClass(SequenceAllocation.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+    
+    @Setup(Level.Iteration)
+    public void clearTables() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from IdentityAllocation").executeUpdate();
+            session.createMutationQuery("delete from SequenceAllocation").executeUpdate();
+        });
+    }
+    
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+    
+    @Benchmark
+    public long identity() {
+        return insert(IdentityAllocation::new);
+    }
+    
+    @Benchmark
+    public long sequence() {
+        return insert(SequenceAllocation::new);
+    }
+    
+    /**
+     * Persist the rows in one transaction, flushing and clearing every batch like a bulk import would.
+     */
+    private long insert(Supplier<AllocationRow> rows) {
+        return sessionFactory.fromTransaction(session -> {
+            LocalDateTime now = LocalDateTime.now();
+            long lastId = 0;
+            for (int i = 0; i < ROWS; i++) {
+                AllocationRow row = rows.get();
+                row.studentId = i / 100 + 1L;
+                row.courseId = i % 100 + 1L;
+                row.status = AllocationStatus.PENDING;
+                row.createdAt = now;
+                row.updatedAt = now;
+                session.persist(row);
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+                lastId = row.getId();
+            }
+            return lastId;
+        });
+    }
+    
+    @MappedSuperclass
+    public abstract static class AllocationRow {
+        
+        @Column(name = "student_id", nullable = false)
+        Long studentId;
+        
+        @Column(name = "course_id", nullable = false)
+        Long courseId;
+        
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 20)
+        AllocationStatus status;
+        
+        @Column(name = "created_at", nullable = false)
+        LocalDateTime createdAt;
+        
+        @Column(name = "updated_at")
+        LocalDateTime updatedAt;
+        
+        abstract Long getId();
+    }
+    
+    @Entity(name = "IdentityAllocation")
+    @Table(name = "identity_allocations")
+    public static class IdentityAllocation extends AllocationRow {
+        
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        
+        @Override
+        Long getId() {
+            return id;
+        }
+    }
+    
+    @Entity(name = "SequenceAllocation")
+    @Table(name = "sequence_allocations")
+    public static class SequenceAllocation extends AllocationRow {
+        
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_allocations_seq")
+        @SequenceGenerator(name = "sequence_allocations_seq", sequenceName = "sequence_allocations_seq",
+                allocationSize = 50)
+        Long id;
+        
+        @Override
+        Long getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.draka.benchmark;
+
+import com.draka.StudentAllocationSystemApplication;
+import com.draka.TestData;
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Lecturer;
+import com.draka.entity.Semester;
+import com.draka.entity.User;
+import com.draka.repository.AllocationRepository;
+import com.draka.repository.SemesterRepository;
+import com.draka.security.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The two endpoints the second-level cache was added for, with the entity and query caches
+ * on (regions from application.conf) and off: a student listing eligible courses (the active
+ * semester and eligible-courses queries) and a lecturer listing enrollment requests. Boots the
+ * application (test profile, in-memory H2) and drives it through MockMvc with a JWT, like
+ * AuthenticatedRequestBenchmark.
+ *
+ * The lecturer's requests are a DTO projection that neither cache serves, so that endpoint
+ * is the control. H2 answers in-process, which flatters the uncached runs; against PostgreSQL
+ * each avoided query also saves a network round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 15, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseCacheBenchmark {
+    
+    private static final int COURSES = 60;
+    
+    private static final int REQUESTS_PER_COURSE = 10;
+    
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+    
+    private ConfigurableApplicationContext context;
+    
+    private MockMvc mockMvc;
+    
+    private String studentAuthorization;
+    
+    private String lecturerAuthorization;
+    
+    @Setup
+    public void setUp() {
+        // devtools is on the test classpath; its restarter would re-run the benchmark
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = SpringApplication.run(StudentAllocationSystemApplication.class,
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache,
+                "--logging.level.root=WARN",
+                "--logging.level.com.draka=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+        
+        TestData testData = context.getBean(TestData.class);
+        AllocationRepository allocationRepository = context.getBean(AllocationRepository.class);
+        Department department = testData.department();
+        Semester semester = testData.semester();
+        semester.setIsActive(true);
+        semester = context.getBean(SemesterRepository.class).save(semester);
+        Lecturer lecturer = testData.lecturer(department);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(testData.course(department, semester, lecturer, 100));
+        }
+        // The lecturer's first page of requests is full, one request per student
+        for (Course course : courses.subList(0, 5)) {
+            for (int i = 0; i < REQUESTS_PER_COURSE; i++) {
+                Allocation allocation = new Allocation();
+                allocation.setStudent(testData.student(department, 3.0));
+                allocation.setCourse(course);
+                allocationRepository.save(allocation);
+            }
+        }
+        
+        JwtUtils jwtUtils = context.getBean(JwtUtils.class);
+        studentAuthorization = bearer(jwtUtils, testData.student(department, 3.5).getUser());
+        lecturerAuthorization = bearer(jwtUtils, lecturer.getUser());
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public int eligibleCourses() throws Exception {
+        return request("/api/student/courses/eligible", studentAuthorization);
+    }
+    
+    @Benchmark
+    public int lecturerRequests() throws Exception {
+        return request("/api/lecturer/enrollment-requests", lecturerAuthorization);
+    }
+    
+    private int request(String url, String authorization) throws Exception {
+        int status = mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, authorization))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+        if (status != 200) {
+            throw new IllegalStateException("GET " + url + " returned " + status);
+        }
+        return status;
+    }
+    
+    private static String bearer(JwtUtils jwtUtils, User user) {
+        return "Bearer " + jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
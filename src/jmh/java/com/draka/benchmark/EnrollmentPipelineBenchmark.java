@@ -0,0 +1,129 @@
+package com.draka.benchmark;
+
+import com.draka.StudentAllocationSystemApplication;
+import com.draka.TestData;
+import com.draka.dto.EnrollmentRequest;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Lecturer;
+import com.draka.entity.Semester;
+import com.draka.service.EnrollmentPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A registration rush on a few hot courses: many clients enroll at once, either directly on
+ * their own threads or through the per-course enrollment pipeline. Boots the application
+ * (test profile, in-memory H2, no web server) once per pipeline setting.
+ *
+ * H2 commits are cheap and its row locks are not PostgreSQL's, so use this to compare the
+ * two modes on one machine; the load test against PostgreSQL is the number that matters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EnrollmentPipelineBenchmark {
+    
+    private static final int STUDENTS = 2_000;
+    
+    private static final int COURSES = 4;
+    
+    private static final int CLIENTS = 32;
+    
+    @Param({"false", "true"})
+    public boolean pipeline;
+    
+    private ConfigurableApplicationContext context;
+    
+    private EnrollmentPipeline enrollmentPipeline;
+    
+    private TestData testData;
+    
+    private Department department;
+    
+    private final List<Long> courseIds = new ArrayList<>();
+    
+    private final List<Long> studentIds = new ArrayList<>();
+    
+    private ExecutorService clients;
+    
+    @Setup
+    public void setUp() {
+        // devtools is on the test classpath; its restarter would re-run the benchmark
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = SpringApplication.run(StudentAllocationSystemApplication.class,
+                "--spring.profiles.active=test",
+                "--spring.main.web-application-type=none",
+                "--enrollment.pipeline.enabled=" + pipeline,
+                "--logging.level.root=WARN",
+                "--logging.level.com.draka=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        enrollmentPipeline = context.getBean(EnrollmentPipeline.class);
+        testData = context.getBean(TestData.class);
+        
+        department = testData.department();
+        Semester semester = testData.semester();
+        Lecturer lecturer = testData.lecturer(department);
+        for (int i = 0; i < COURSES; i++) {
+            Course course = testData.course(department, semester, lecturer, STUDENTS);
+            courseIds.add(course.getId());
+        }
+        clients = Executors.newFixedThreadPool(CLIENTS);
+    }
+    
+    /**
+     * Fresh students for every iteration, so each enrollment is a first request.
+     */
+    @Setup(Level.Iteration)
+    public void createStudents() {
+        studentIds.clear();
+        for (int i = 0; i < STUDENTS; i++) {
+            studentIds.add(testData.student(department, 3.5).getId());
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        clients.shutdownNow();
+        context.close();
+    }
+    
+    @Benchmark
+    public long registrationRush() {
+        List<CompletableFuture<?>> enrollments = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            Long studentId = studentIds.get(i);
+            EnrollmentRequest request = new EnrollmentRequest(courseIds.get(i % COURSES), null);
+            enrollments.add(CompletableFuture
+                    .supplyAsync(() -> enrollmentPipeline.submitEnrollment(studentId, request), clients)
+                    .thenCompose(future -> future));
+        }
+        // Stream.count() would skip a map(join) on a sized list, so wait explicitly
+        CompletableFuture.allOf(enrollments.toArray(CompletableFuture[]::new)).join();
+        return enrollments.size();
+    }
+}
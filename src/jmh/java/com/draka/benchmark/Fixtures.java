@@ -0,0 +1,102 @@
+package com.draka.benchmark;
+
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Lecturer;
+import com.draka.entity.Semester;
+import com.draka.entity.Student;
+import com.draka.entity.User;
+import com.draka.enums.AllocationStatus;
+import com.draka.enums.Role;
+import com.draka.enums.SemesterType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity graphs shaped like the ones the API returns, built without a database.
+ */
+public final class Fixtures {
+    
+    private Fixtures() {
+    }
+    
+    public static User user(long id, String username, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@draka.edu");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z0mE1xLQ3J5Y5l3dCj6Q5bG2");
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setRole(role);
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+    
+    public static Department department() {
+        Department department = new Department();
+        department.setId(1L);
+        department.setName("Computer Science");
+        department.setCode("CS");
+        department.setDescription("Department of Computer Science");
+        return department;
+    }
+    
+    public static Semester semester() {
+        Semester semester = new Semester();
+        semester.setId(1L);
+        semester.setName("Fall 2024");
+        semester.setType(SemesterType.FIRST_SEMESTER);
+        semester.setYear(2024);
+        semester.setStartDate(LocalDate.of(2024, 9, 1));
+        semester.setEndDate(LocalDate.of(2024, 12, 20));
+        semester.setIsActive(true);
+        return semester;
+    }
+    
+    public static Course course(long id, double minimumGpa) {
+        Lecturer lecturer = new Lecturer();
+        lecturer.setId(1L);
+        lecturer.setUser(user(2L, "lecturer1", Role.LECTURER));
+        lecturer.setEmployeeId("LEC2024001");
+        lecturer.setDepartment(department());
+        lecturer.setSpecialization("Distributed Systems");
+        
+        Course course = new Course();
+        course.setId(id);
+        course.setCourseCode("CS" + (100 + id));
+        course.setCourseName("Course " + id);
+        course.setDescription("An introductory course on topic " + id);
+        course.setDepartment(department());
+        course.setSemester(semester());
+        course.setLecturer(lecturer);
+        course.setMinimumGpa(minimumGpa);
+        course.setMaxCapacity(50);
+        course.setCurrentEnrollment(20);
+        course.setCreatedAt(LocalDateTime.now());
+        return course;
+    }
+    
+    public static Student student(long id, double gpa) {
+        Student student = new Student();
+        student.setId(id);
+        student.setUser(user(100L + id, "student" + id, Role.STUDENT));
+        student.setStudentId("STU2024" + String.format("%03d", id));
+        student.setDepartment(department());
+        student.setGpa(gpa);
+        return student;
+    }
+    
+    public static Allocation allocation(long id, Student student, Course course) {
+        Allocation allocation = new Allocation();
+        allocation.setId(id);
+        allocation.setStudent(student);
+        allocation.setCourse(course);
+        allocation.setStatus(AllocationStatus.PENDING);
+        allocation.setStudentComment("Please consider my request");
+        allocation.setCreatedAt(LocalDateTime.now());
+        return allocation;
+    }
+}
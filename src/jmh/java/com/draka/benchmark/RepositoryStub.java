@@ -0,0 +1,41 @@
+package com.draka.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-in for a Spring Data repository interface, answering only the
+ * methods a benchmark registers. Any other call fails loudly.
+ */
+public final class RepositoryStub<T> {
+    
+    private final Class<T> type;
+    
+    private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+    
+    private RepositoryStub(Class<T> type) {
+        this.type = type;
+    }
+    
+    public static <T> RepositoryStub<T> of(Class<T> type) {
+        return new RepositoryStub<>(type);
+    }
+    
+    public RepositoryStub<T> answer(String method, Function<Object[], Object> answer) {
+        answers.put(method, answer);
+        return this;
+    }
+    
+    public T build() {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+            }
+            return answer.apply(args);
+        });
+        return type.cast(proxy);
+    }
+}
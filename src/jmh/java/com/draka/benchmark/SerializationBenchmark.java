@@ -0,0 +1,80 @@
+package com.draka.benchmark;
+
+import com.draka.dto.AllocationSummary;
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of course and allocation responses: full entity graphs as returned
+ * by the admin endpoints, and the flat summaries returned to students and lecturers.
+ * The mapper is configured like the application's (see spring.jackson.* properties).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    
+    private static final int PAGE_SIZE = 50;
+    
+    private ObjectMapper objectMapper;
+    
+    private List<Course> courses;
+    
+    private List<Allocation> allocations;
+    
+    private List<AllocationSummary> allocationSummaries;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        
+        courses = new ArrayList<>();
+        allocations = new ArrayList<>();
+        allocationSummaries = new ArrayList<>();
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            Course course = Fixtures.course(i, 2.5);
+            Allocation allocation = Fixtures.allocation(i, Fixtures.student(i, 3.0), course);
+            courses.add(course);
+            allocations.add(allocation);
+            allocationSummaries.add(AllocationSummary.from(allocation));
+        }
+    }
+    
+    @Benchmark
+    public byte[] coursePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courses);
+    }
+    
+    @Benchmark
+    public byte[] allocationPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(allocations);
+    }
+    
+    @Benchmark
+    public byte[] allocationSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(allocationSummaries);
+    }
+}
@@ -0,0 +1,110 @@
+package com.draka.security;
+
+import com.draka.StudentAllocationSystemApplication;
+import com.draka.TestData;
+import com.draka.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * A cheap authenticated GET through the full security filter chain, with the JWT filter's
+ * user served from UserDetailsCache and with the entry evicted first, so every request loads
+ * the user from the database as it did before the cache. Boots the application (test profile,
+ * in-memory H2) and drives it through MockMvc.
+ *
+ * UserDetailsLookupBenchmark measures the lookup alone with the repository stubbed out; this
+ * one includes the users SELECT and its transaction, on H2 rather than over the network.
+ * The whole request path has to be compiled, so the warmup is long; short runs still
+ * include JIT time and drift downwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 25, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticatedRequestBenchmark {
+    
+    private ConfigurableApplicationContext context;
+    
+    private MockMvc mockMvc;
+    
+    private UserDetailsCache userDetailsCache;
+    
+    private String username;
+    
+    private String authorization;
+    
+    @Setup
+    public void setUp() {
+        // devtools is on the test classpath; its restarter would re-run the benchmark
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = SpringApplication.run(StudentAllocationSystemApplication.class,
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.draka=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+        userDetailsCache = context.getBean(UserDetailsCache.class);
+        
+        TestData testData = context.getBean(TestData.class);
+        User user = testData.student(testData.department(), 3.0).getUser();
+        username = user.getUsername();
+        String token = context.getBean(JwtUtils.class)
+                .generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        authorization = "Bearer " + token;
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public int cacheHit() throws Exception {
+        return request();
+    }
+    
+    @Benchmark
+    public int databaseLookup() throws Exception {
+        userDetailsCache.evictAfterCommit(username);
+        return request();
+    }
+    
+    private int request() throws Exception {
+        int status = mockMvc.perform(get("/api/auth/test").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+        if (status != 200) {
+            throw new IllegalStateException("GET /api/auth/test returned " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,70 @@
+package com.draka.security;
+
+import com.draka.benchmark.Fixtures;
+import com.draka.entity.User;
+import com.draka.enums.Role;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT generation and verification, as done on login and on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+    
+    private JwtUtils jwtUtils;
+    
+    private Authentication authentication;
+    
+    private String accessToken;
+    
+    private String admissionToken;
+    
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+                "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000L);
+        jwtUtils.init();
+        
+        User user = Fixtures.user(1L, "student1", Role.STUDENT);
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        accessToken = jwtUtils.generateJwtToken(authentication);
+        admissionToken = jwtUtils.generateAdmissionToken("student1", 600_000L);
+    }
+    
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+    
+    @Benchmark
+    public Claims parseAccessToken() {
+        return jwtUtils.parseAccessToken(accessToken);
+    }
+    
+    @Benchmark
+    public boolean validateAdmissionToken() {
+        return jwtUtils.validateAdmissionToken(admissionToken, "student1");
+    }
+}
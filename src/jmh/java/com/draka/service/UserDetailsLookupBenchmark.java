@@ -0,0 +1,82 @@
+package com.draka.service;
+
+import com.draka.benchmark.Fixtures;
+import com.draka.benchmark.RepositoryStub;
+import com.draka.entity.User;
+import com.draka.enums.Role;
+import com.draka.repository.UserRepository;
+import com.draka.security.UserDetailsCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CustomUserDetailsService lookups against an in-memory user table, directly and through
+ * the JWT filter's UserDetailsCache. Database time is excluded; this measures our own overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsLookupBenchmark {
+    
+    private static final int USERS = 10_000;
+    
+    private CustomUserDetailsService userDetailsService;
+    
+    private UserDetailsCache userDetailsCache;
+    
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        Map<String, User> users = new HashMap<>();
+        for (long i = 1; i <= USERS; i++) {
+            User user = Fixtures.user(i, "student" + i, Role.STUDENT);
+            users.put(user.getUsername(), user);
+        }
+        UserRepository userRepository = RepositoryStub.of(UserRepository.class)
+                .answer("findByUsername", args -> Optional.ofNullable(users.get((String) args[0])))
+                .build();
+        
+        userDetailsService = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+        
+        userDetailsCache = new UserDetailsCache();
+        ReflectionTestUtils.setField(userDetailsCache, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(userDetailsCache, "maxSize", (long) USERS);
+        ReflectionTestUtils.setField(userDetailsCache, "ttlMs", 600_000L);
+        ReflectionTestUtils.invokeMethod(userDetailsCache, "init");
+    }
+    
+    private String nextUsername() {
+        next = next % USERS + 1;
+        return "student" + next;
+    }
+    
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(nextUsername());
+    }
+    
+    @Benchmark
+    public UserDetails cachedLookup() {
+        return userDetailsCache.get(nextUsername());
+    }
+}
@@ -0,0 +1,78 @@
+package com.draka.service;
+
+import com.draka.benchmark.Fixtures;
+import com.draka.benchmark.RepositoryStub;
+import com.draka.entity.Course;
+import com.draka.entity.Student;
+import com.draka.exception.BusinessException;
+import com.draka.metrics.EnrollmentMetrics;
+import com.draka.repository.AllocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AllocationService.validateEnrollment with the duplicate check answered in memory,
+ * for an accepted request and for a GPA rejection (which builds the exception message).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidateEnrollmentBenchmark {
+    
+    private AllocationService allocationService;
+    
+    private Student student;
+    
+    private Course openCourse;
+    
+    private Course demandingCourse;
+    
+    @Setup
+    public void setUp() {
+        AllocationRepository allocationRepository = RepositoryStub.of(AllocationRepository.class)
+                .answer("existsByStudentIdAndCourseId", args -> Boolean.FALSE)
+                .build();
+        
+        EnrollmentMetrics enrollmentMetrics = new EnrollmentMetrics();
+        ReflectionTestUtils.setField(enrollmentMetrics, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(enrollmentMetrics, "init");
+        
+        allocationService = new AllocationService();
+        ReflectionTestUtils.setField(allocationService, "allocationRepository", allocationRepository);
+        ReflectionTestUtils.setField(allocationService, "enrollmentMetrics", enrollmentMetrics);
+        
+        student = Fixtures.student(1L, 3.2);
+        openCourse = Fixtures.course(1L, 2.5);
+        demandingCourse = Fixtures.course(2L, 3.8);
+    }
+    
+    @Benchmark
+    public void accepted() {
+        allocationService.validateEnrollment(student, openCourse);
+    }
+    
+    @Benchmark
+    public void rejectedForGpa(Blackhole blackhole) {
+        try {
+            allocationService.validateEnrollment(student, demandingCourse);
+        } catch (BusinessException e) {
+            blackhole.consume(e);
+        }
+    }
+}
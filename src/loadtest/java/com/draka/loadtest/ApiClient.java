@@ -0,0 +1,122 @@
+package com.draka.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Thin JSON client over java.net.http that records every call under an endpoint label.
+ */
+class ApiClient {
+    
+    record Response(int status, JsonNode body) {
+        
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+        
+        /**
+         * The {@code data} of an ApiResponse envelope, or the body itself.
+         */
+        JsonNode data() {
+            return body.has("data") ? body.get("data") : body;
+        }
+    }
+    
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    
+    private final String baseUrl;
+    
+    private final StatsRegistry stats;
+    
+    private final Duration timeout;
+    
+    ApiClient(String baseUrl, StatsRegistry stats, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.stats = stats;
+        this.timeout = timeout;
+    }
+    
+    /**
+     * Extra headers are given as name/value pairs.
+     */
+    Response get(String label, String path, String token, String... headers) {
+        return send(label, request(path, token, headers).GET());
+    }
+    
+    Response post(String label, String path, String token, Object body, String... headers) {
+        return send(label, request(path, token, headers).POST(json(body)));
+    }
+    
+    Response put(String label, String path, String token, Object body, String... headers) {
+        return send(label, request(path, token, headers).PUT(json(body)));
+    }
+    
+    private HttpRequest.Builder request(String path, String token, String... headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        for (int i = 0; i + 1 < headers.length; i += 2) {
+            if (headers[i + 1] != null) {
+                builder.header(headers[i], headers[i + 1]);
+            }
+        }
+        return builder;
+    }
+    
+    private HttpRequest.BodyPublisher json(Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+    
+    private Response send(String label, HttpRequest.Builder builder) {
+        EndpointStats endpoint = stats.endpoint(label);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            endpoint.record(start, System.nanoTime(), response.statusCode());
+            byte[] bytes = response.body();
+            JsonNode body = bytes.length == 0 ? MissingNode.getInstance() : parse(bytes);
+            return new Response(response.statusCode(), body);
+        } catch (IOException e) {
+            endpoint.record(start, System.nanoTime(), -1);
+            return new Response(-1, MissingNode.getInstance());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            endpoint.record(start, System.nanoTime(), -1);
+            return new Response(-1, MissingNode.getInstance());
+        }
+    }
+    
+    private JsonNode parse(byte[] bytes) {
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+}
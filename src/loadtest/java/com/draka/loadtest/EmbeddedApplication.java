@@ -0,0 +1,51 @@
+package com.draka.loadtest;
+
+import com.draka.StudentAllocationSystemApplication;
+import com.draka.entity.User;
+import com.draka.enums.Role;
+import com.draka.repository.UserRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs the application in the load test's JVM, on a random port, with an admin account
+ * for the setup phase. Load generator and server then share the machine's CPUs, so use
+ * it to compare changes, not to size production.
+ */
+class EmbeddedApplication implements AutoCloseable {
+    
+    private final ConfigurableApplicationContext context;
+    
+    private final String baseUrl;
+    
+    EmbeddedApplication(LoadTestConfig config) {
+        // devtools is on the test classpath; its restarter would re-run LoadTest.main with Spring's arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = SpringApplication.run(StudentAllocationSystemApplication.class,
+                "--spring.profiles.active=" + config.appProfiles,
+                "--server.port=0");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        if (userRepository.findByUsername(config.adminUsername).isEmpty()) {
+            User admin = new User();
+            admin.setUsername(config.adminUsername);
+            admin.setEmail(config.adminUsername + "@loadtest.local");
+            admin.setPassword(context.getBean(PasswordEncoder.class).encode(config.adminPassword));
+            admin.setFirstName("Load");
+            admin.setLastName("Test");
+            admin.setRole(Role.ADMIN);
+            userRepository.save(admin);
+        }
+    }
+    
+    String baseUrl() {
+        return baseUrl;
+    }
+    
+    @Override
+    public void close() {
+        context.close();
+    }
+}
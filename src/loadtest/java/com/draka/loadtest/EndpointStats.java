@@ -0,0 +1,61 @@
+package com.draka.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome counts and latency distribution for one endpoint.
+ */
+class EndpointStats {
+    
+    final String name;
+    
+    final LatencyHistogram latency = new LatencyHistogram();
+    
+    final LongAdder success = new LongAdder();
+    
+    final LongAdder clientErrors = new LongAdder();
+    
+    final LongAdder serverErrors = new LongAdder();
+    
+    final LongAdder ioErrors = new LongAdder();
+    
+    final AtomicLong maxMicros = new AtomicLong();
+    
+    final AtomicLong firstNanos = new AtomicLong(Long.MAX_VALUE);
+    
+    final AtomicLong lastNanos = new AtomicLong();
+    
+    EndpointStats(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * Record one call; status -1 means the request failed before a response arrived.
+     */
+    void record(long startNanos, long endNanos, int status) {
+        long micros = (endNanos - startNanos) / 1000;
+        latency.record(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+        firstNanos.accumulateAndGet(startNanos, Math::min);
+        lastNanos.accumulateAndGet(endNanos, Math::max);
+        if (status < 0) {
+            ioErrors.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+    
+    long count() {
+        return success.sum() + clientErrors.sum() + serverErrors.sum() + ioErrors.sum();
+    }
+    
+    double throughput() {
+        long elapsed = lastNanos.get() - firstNanos.get();
+        return elapsed > 0 ? count() / (elapsed / 1e9) : 0.0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.draka.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear latency histogram in microseconds, about 3% precision.
+ * Each power of two is split into 32 linear sub-buckets.
+ */
+class LatencyHistogram {
+    
+    private static final int SUB_BUCKETS = 32;
+    
+    private static final int SUB_BUCKET_BITS = 5;
+    
+    private static final int BUCKETS = SUB_BUCKETS * 40;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    
+    void record(long micros) {
+        counts.incrementAndGet(Math.min(index(Math.max(0, micros)), BUCKETS - 1));
+    }
+    
+    /**
+     * Value at the given quantile (0..1), in microseconds.
+     */
+    long valueAt(double quantile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(BUCKETS - 1);
+    }
+    
+    private static int index(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * (shift + 1) + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+    
+    private static long highestValue(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,360 @@
+package com.draka.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registration-day load test.
+ *
+ * Creates a department, an active semester, lecturers, courses and N students through the
+ * admin API, then replays registration day: students arrive following the spike profile,
+ * log in, list eligible courses and enroll; lecturers approve up to capacity and deny the
+ * rest in bulk; a share of students drops a course. Prints throughput, latency percentiles
+ * and error rates per endpoint.
+ *
+ * Run with: mvn -P loadtest test-compile exec:exec -Dloadtest.args="--embedded --students 2000"
+ */
+public class LoadTest {
+    
+    private static final String PASSWORD = "LoadTest123";
+    
+    private final LoadTestConfig config;
+    
+    private final StatsRegistry stats = new StatsRegistry();
+    
+    private final ApiClient api;
+    
+    private final String runId = Long.toString(System.currentTimeMillis() / 1000 % 60_466_176L, 36);
+    
+    private final Map<String, String> studentTokens = new ConcurrentHashMap<>();
+    
+    private final List<String> lecturerUsernames = new ArrayList<>();
+    
+    private final AtomicInteger enrolled = new AtomicInteger();
+    
+    private final AtomicInteger waitlisted = new AtomicInteger();
+    
+    private final AtomicInteger rejected = new AtomicInteger();
+    
+    private final AtomicInteger approved = new AtomicInteger();
+    
+    private final AtomicInteger denied = new AtomicInteger();
+    
+    private final AtomicInteger dropped = new AtomicInteger();
+    
+    LoadTest(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.api = new ApiClient(baseUrl, stats, config.timeout);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        if (config.embedded) {
+            try (EmbeddedApplication application = new EmbeddedApplication(config)) {
+                new LoadTest(config, application.baseUrl()).run();
+            }
+        } else {
+            new LoadTest(config, config.baseUrl).run();
+        }
+    }
+    
+    void run() throws InterruptedException {
+        System.out.printf("Run %s: %d students, %d lecturers, %d courses, profile %s%n",
+                runId, config.students, config.lecturers, config.courses, config.profile);
+        
+        phase("setup", this::setUp);
+        phase("registration", () -> paced(config.students, this::studentSession));
+        phase("approval", () -> concurrently(lecturerUsernames.size(), i -> lecturerSession(lecturerUsernames.get(i))));
+        List<String> dropping = studentTokens.keySet().stream()
+                .limit(Math.round(studentTokens.size() * config.dropFraction))
+                .toList();
+        phase("drops", () -> paced(dropping.size(), i -> dropSession(studentTokens.get(dropping.get(i)))));
+        
+        System.out.printf("%nEnrollments: %d pending, %d waitlisted, %d rejected; approvals: %d approved, %d denied; "
+                + "%d dropped%n%n", enrolled.get(), waitlisted.get(), rejected.get(), approved.get(), denied.get(),
+                dropped.get());
+        stats.print(System.out);
+    }
+    
+    // ==================== Setup ====================
+    
+    private void setUp() throws InterruptedException {
+        String admin = login("setup", config.adminUsername, config.adminPassword);
+        if (admin == null) {
+            throw new IllegalStateException("Admin login failed for " + config.adminUsername);
+        }
+        
+        String code = "LT" + runId.toUpperCase();
+        long departmentId = require(api.post("setup POST /api/admin/departments", "/api/admin/departments", admin,
+                Map.of("name", "Load Test " + runId, "code", code)), "create department").get("id").asLong();
+        
+        LocalDate today = LocalDate.now();
+        long semesterId = require(api.post("setup POST /api/admin/semesters", "/api/admin/semesters", admin,
+                Map.of("name", "Load Test " + runId, "type", "FIRST_SEMESTER", "year", today.getYear(),
+                        "startDate", today.toString(), "endDate", today.plusMonths(4).toString())),
+                "create semester").get("id").asLong();
+        require(api.put("setup PUT /api/admin/semesters/{id}/activate",
+                "/api/admin/semesters/" + semesterId + "/activate", admin, null), "activate semester");
+        
+        concurrently(config.lecturers, i -> {
+            String username = "lt" + runId + "l" + i;
+            require(api.post("setup POST /api/admin/users", "/api/admin/users", admin, user(username, "LECTURER",
+                    departmentId, Map.of("employeeId", code + "L" + i))), "create lecturer");
+            synchronizedAdd(username);
+        });
+        
+        List<Long> lecturerIds = new ArrayList<>();
+        Long cursor = null;
+        do {
+            JsonNode page = require(api.get("setup GET /api/admin/departments/{id}/lecturers",
+                    "/api/admin/departments/" + departmentId + "/lecturers?size=200"
+                            + (cursor != null ? "&cursor=" + cursor : ""), admin), "list lecturers");
+            page.get("items").forEach(lecturer -> lecturerIds.add(lecturer.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asLong();
+        } while (cursor != null);
+        
+        double[] gpaLevels = {0.0, 2.0, 2.5, 3.0, 3.5};
+        concurrently(config.courses, i -> require(api.post("setup POST /api/admin/courses", "/api/admin/courses",
+                admin, Map.of("courseCode", code + "C" + i, "courseName", "Load Test Course " + i, "credits", 3,
+                        "departmentId", departmentId, "semesterId", semesterId,
+                        "lecturerId", lecturerIds.get(i % lecturerIds.size()),
+                        "minimumGpa", gpaLevels[i % gpaLevels.length], "maxCapacity", config.courseCapacity)),
+                "create course"));
+        
+        concurrently(config.students, i -> {
+            double gpa = Math.round((1.5 + new SplittableRandom(config.seed + i).nextDouble() * 2.5) * 100) / 100.0;
+            require(api.post("setup POST /api/admin/users", "/api/admin/users", admin, user(studentUsername(i),
+                    "STUDENT", departmentId, Map.of("studentId", code + "S" + i, "gpa", gpa))), "create student");
+        });
+    }
+    
+    private synchronized void synchronizedAdd(String lecturerUsername) {
+        lecturerUsernames.add(lecturerUsername);
+    }
+    
+    private Map<String, Object> user(String username, String role, long departmentId, Map<String, Object> extra) {
+        Map<String, Object> user = new HashMap<>(extra);
+        user.put("username", username);
+        user.put("email", username + "@loadtest.local");
+        user.put("password", PASSWORD);
+        user.put("firstName", "Load");
+        user.put("lastName", username);
+        user.put("role", role);
+        user.put("departmentId", departmentId);
+        return user;
+    }
+    
+    private String studentUsername(int index) {
+        return "lt" + runId + "s" + index;
+    }
+    
+    // ==================== Sessions ====================
+    
+    private void studentSession(int index) {
+        String username = studentUsername(index);
+        String token = login("POST /api/auth/login", username, PASSWORD);
+        if (token == null) {
+            return;
+        }
+        studentTokens.put(username, token);
+        
+        ApiClient.Response eligible = api.get("GET /api/student/courses/eligible", "/api/student/courses/eligible", token);
+        if (!eligible.ok() || eligible.body().isEmpty()) {
+            return;
+        }
+        
+        String admission = config.waitingRoom ? admit(token) : null;
+        if (config.waitingRoom && admission == null) {
+            return;
+        }
+        
+        SplittableRandom random = new SplittableRandom(config.seed * 31 + index);
+        List<Long> courseIds = new ArrayList<>();
+        eligible.body().forEach(course -> courseIds.add(course.get("id").asLong()));
+        for (int k = 0; k < config.enrollmentsPerStudent && !courseIds.isEmpty(); k++) {
+            Long courseId = courseIds.remove(random.nextInt(courseIds.size()));
+            ApiClient.Response response = api.post("POST /api/student/courses/enroll", "/api/student/courses/enroll",
+                    token, Map.of("courseId", courseId), "X-Admission-Token", admission);
+            if (!response.ok()) {
+                rejected.incrementAndGet();
+            } else if ("WAITLISTED".equals(response.data().path("status").asText())) {
+                waitlisted.incrementAndGet();
+            } else {
+                enrolled.incrementAndGet();
+            }
+        }
+    }
+    
+    /**
+     * Poll the waiting room until admitted; returns the admission token, or null on failure.
+     */
+    private String admit(String token) {
+        while (true) {
+            ApiClient.Response response = api.post("POST /api/student/waiting-room", "/api/student/waiting-room",
+                    token, null);
+            if (!response.ok()) {
+                return null;
+            }
+            JsonNode status = response.data();
+            if (status.path("admitted").asBoolean()) {
+                return status.path("admissionToken").asText(null);
+            }
+            long waitSeconds = Math.max(1, Math.min(5, status.path("estimatedWaitSeconds").asLong(1)));
+            try {
+                TimeUnit.SECONDS.sleep(waitSeconds);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+    
+    /**
+     * Approve pending requests page by page; approvals refused because the course is full are denied.
+     */
+    private void lecturerSession(String username) {
+        String token = login("POST /api/auth/login", username, PASSWORD);
+        if (token == null) {
+            return;
+        }
+        Long cursor = null;
+        do {
+            ApiClient.Response page = api.get("GET /api/lecturer/enrollment-requests/pending",
+                    "/api/lecturer/enrollment-requests/pending?size=200" + (cursor != null ? "&cursor=" + cursor : ""),
+                    token);
+            if (!page.ok()) {
+                return;
+            }
+            List<Map<String, Object>> approvals = new ArrayList<>();
+            page.body().get("items").forEach(item -> approvals.add(
+                    Map.of("allocationId", item.get("id").asLong(), "status", "APPROVED")));
+            if (!approvals.isEmpty()) {
+                process(token, approvals);
+            }
+            cursor = page.body().get("nextCursor").isNull() ? null : page.body().get("nextCursor").asLong();
+        } while (cursor != null);
+    }
+    
+    private void process(String token, List<Map<String, Object>> approvals) {
+        ApiClient.Response response = api.post("POST /api/lecturer/enrollment-requests/process-bulk",
+                "/api/lecturer/enrollment-requests/process-bulk", token, Map.of("requests", approvals));
+        if (!response.ok()) {
+            return;
+        }
+        List<Map<String, Object>> denials = new ArrayList<>();
+        for (JsonNode result : response.data()) {
+            if (result.path("success").asBoolean()) {
+                approved.incrementAndGet();
+            } else if (result.path("message").asText().contains("maximum capacity")) {
+                denials.add(Map.of("allocationId", result.get("allocationId").asLong(), "status", "DENIED",
+                        "comment", "Course is full"));
+            }
+        }
+        if (!denials.isEmpty()) {
+            ApiClient.Response denied = api.post("POST /api/lecturer/enrollment-requests/process-bulk",
+                    "/api/lecturer/enrollment-requests/process-bulk", token, Map.of("requests", denials));
+            if (denied.ok()) {
+                denied.data().forEach(result -> {
+                    if (result.path("success").asBoolean()) {
+                        this.denied.incrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+    
+    private void dropSession(String token) {
+        ApiClient.Response courses = api.get("GET /api/student/courses/enrolled", "/api/student/courses/enrolled", token);
+        if (!courses.ok() || courses.body().isEmpty()) {
+            return;
+        }
+        long courseId = courses.body().get(0).get("courseId").asLong();
+        if (api.post("POST /api/student/courses/{courseId}/drop", "/api/student/courses/" + courseId + "/drop",
+                token, null).ok()) {
+            dropped.incrementAndGet();
+        }
+    }
+    
+    private String login(String label, String username, String password) {
+        ApiClient.Response response = api.post(label, "/api/auth/login", null,
+                Map.of("username", username, "password", password));
+        return response.ok() ? response.body().path("token").asText(null) : null;
+    }
+    
+    private JsonNode require(ApiClient.Response response, String action) {
+        if (!response.ok()) {
+            throw new IllegalStateException("Setup failed to " + action + ": HTTP " + response.status() + " "
+                    + response.body());
+        }
+        return response.data();
+    }
+    
+    // ==================== Scheduling ====================
+    
+    private interface Phase {
+        void run() throws InterruptedException;
+    }
+    
+    private interface Session {
+        void run(int index);
+    }
+    
+    private void phase(String name, Phase phase) throws InterruptedException {
+        long start = System.nanoTime();
+        phase.run();
+        System.out.printf("Phase %-13s %8.1f s%n", name, (System.nanoTime() - start) / 1e9);
+    }
+    
+    /**
+     * Start sessions at the pace of the spike profile, each on its own virtual thread, and wait for all.
+     */
+    private void paced(int sessions, Session session) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            AtomicInteger next = new AtomicInteger();
+            config.profile.run(sessions, () -> {
+                int index = next.getAndIncrement();
+                executor.execute(() -> session.run(index));
+            });
+        }
+    }
+    
+    /**
+     * Run sessions with at most setup-concurrency in flight, and wait for all.
+     */
+    private void concurrently(int sessions, Session session) throws InterruptedException {
+        Semaphore permits = new Semaphore(config.setupConcurrency);
+        List<RuntimeException> failures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                int index = i;
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        session.run(index);
+                    } catch (RuntimeException e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw failures.get(0);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.draka.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Command-line options of the load test; every option has a default.
+ */
+class LoadTestConfig {
+    
+    String baseUrl = "http://localhost:8080";
+    
+    boolean embedded;
+    
+    String appProfiles = "h2";
+    
+    String adminUsername = "admin";
+    
+    String adminPassword = "admin123";
+    
+    int students = 1000;
+    
+    int lecturers = 20;
+    
+    int courses = 60;
+    
+    int courseCapacity = 40;
+    
+    int enrollmentsPerStudent = 3;
+    
+    double dropFraction = 0.1;
+    
+    SpikeProfile profile = new SpikeProfile("20:10,200:30,50:10");
+    
+    boolean waitingRoom;
+    
+    int setupConcurrency = 32;
+    
+    Duration timeout = Duration.ofSeconds(30);
+    
+    long seed = 42;
+    
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            switch (option) {
+                case "--embedded" -> config.embedded = true;
+                case "--waiting-room" -> config.waitingRoom = true;
+                case "--help" -> {
+                    usage();
+                    System.exit(0);
+                }
+                default -> {
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("Missing value for " + option);
+                    }
+                    config.set(option, args[++i]);
+                }
+            }
+        }
+        return config;
+    }
+    
+    private void set(String option, String value) {
+        switch (option) {
+            case "--base-url" -> baseUrl = value;
+            case "--app-profiles" -> appProfiles = value;
+            case "--admin-username" -> adminUsername = value;
+            case "--admin-password" -> adminPassword = value;
+            case "--students" -> students = Integer.parseInt(value);
+            case "--lecturers" -> lecturers = Integer.parseInt(value);
+            case "--courses" -> courses = Integer.parseInt(value);
+            case "--course-capacity" -> courseCapacity = Integer.parseInt(value);
+            case "--enrollments-per-student" -> enrollmentsPerStudent = Integer.parseInt(value);
+            case "--drop-fraction" -> dropFraction = Double.parseDouble(value);
+            case "--profile" -> profile = new SpikeProfile(value);
+            case "--setup-concurrency" -> setupConcurrency = Integer.parseInt(value);
+            case "--timeout" -> timeout = Duration.ofSeconds(Long.parseLong(value));
+            case "--seed" -> seed = Long.parseLong(value);
+            default -> throw new IllegalArgumentException("Unknown option " + option + " (see --help)");
+        }
+    }
+    
+    static void usage() {
+        System.out.println("""
+                Registration-rush load test.
+                  
+                  --base-url URL                  application to test (default http://localhost:8080)
+                  --embedded                      start the application in this JVM instead (H2 in-memory database)
+                  --app-profiles LIST             Spring profiles for --embedded (default h2; e.g. h2,virtual-threads)
+                  --admin-username/--admin-password  admin account used for setup (created with --embedded)
+                  --students N                    synthetic students (default 1000)
+                  --lecturers N / --courses N     lecturers and courses to create (default 20 / 60)
+                  --course-capacity N             seats per course (default 40)
+                  --enrollments-per-student N     courses each student tries to join (default 3)
+                  --drop-fraction F               share of students that drop a course afterwards (default 0.1)
+                  --profile SPEC                  sessions/second shape, rate:seconds,... (default 20:10,200:30,50:10)
+                  --waiting-room                  go through the registration waiting room before enrolling
+                  --setup-concurrency N           parallel admin calls while creating data (default 32)
+                  --timeout SECONDS               per-request timeout (default 30)
+                  --seed N                        random seed for GPAs and course choices (default 42)
+                """);
+    }
+}
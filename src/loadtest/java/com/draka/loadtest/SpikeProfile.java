@@ -0,0 +1,63 @@
+package com.draka.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Arrival-rate shape for student sessions, e.g. {@code 20:30,400:60,50:30}: 20 sessions per
+ * second for 30 seconds, then a 400/s spike for a minute, then 50/s. The last step continues
+ * until every student has started.
+ */
+class SpikeProfile {
+    
+    private record Step(double ratePerSecond, long durationNanos) {
+    }
+    
+    private final List<Step> steps = new ArrayList<>();
+    
+    private final String spec;
+    
+    SpikeProfile(String spec) {
+        this.spec = spec;
+        for (String part : spec.split(",")) {
+            String[] fields = part.trim().split(":");
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Invalid profile step '" + part + "', expected rate:seconds");
+            }
+            double rate = Double.parseDouble(fields[0]);
+            if (rate <= 0) {
+                throw new IllegalArgumentException("Profile rates must be positive: " + part);
+            }
+            steps.add(new Step(rate, (long) (Double.parseDouble(fields[1]) * 1e9)));
+        }
+    }
+    
+    /**
+     * Call {@code starter} {@code sessions} times, paced by the profile (open model: the pace
+     * does not slow down when the server does).
+     */
+    void run(int sessions, Runnable starter) {
+        long stepStart = System.nanoTime();
+        long next = stepStart;
+        int stepIndex = 0;
+        for (int started = 0; started < sessions; started++) {
+            Step step = steps.get(stepIndex);
+            while (stepIndex < steps.size() - 1 && next - stepStart >= step.durationNanos()) {
+                stepStart += step.durationNanos();
+                step = steps.get(++stepIndex);
+            }
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            starter.run();
+            next += (long) (1e9 / step.ratePerSecond());
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
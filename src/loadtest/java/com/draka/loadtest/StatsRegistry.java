@@ -0,0 +1,36 @@
+package com.draka.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Per-endpoint statistics, printed as a table at the end of a run.
+ * 4xx responses are business outcomes (GPA rules, duplicates) and are reported separately
+ * from errors; the error rate counts 5xx responses and transport failures.
+ */
+class StatsRegistry {
+    
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    
+    EndpointStats endpoint(String name) {
+        return endpoints.computeIfAbsent(name, EndpointStats::new);
+    }
+    
+    void print(PrintStream out) {
+        out.printf("%-58s %8s %9s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "4xx%", "err%", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (EndpointStats stats : new ConcurrentSkipListMap<>(endpoints).values()) {
+            long count = stats.count();
+            double clientErrorRate = 100.0 * stats.clientErrors.sum() / count;
+            double errorRate = 100.0 * (stats.serverErrors.sum() + stats.ioErrors.sum()) / count;
+            out.printf("%-58s %8d %9.1f %6.2f%% %6.2f%% %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.name, count, stats.throughput(), clientErrorRate, errorRate,
+                    stats.latency.valueAt(0.50) / 1000.0,
+                    stats.latency.valueAt(0.99) / 1000.0,
+                    stats.latency.valueAt(0.999) / 1000.0,
+                    stats.maxMicros.get() / 1000.0);
+        }
+    }
+}
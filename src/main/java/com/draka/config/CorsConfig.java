@@ -42,7 +42,8 @@ public class CorsConfig {
                 "Content-Type",
                 "Accept",
                 "X-Requested-With",
-                "Cache-Control"
+                "Cache-Control",
+                "X-Admission-Token"
         ));
         
         // Exposed headers
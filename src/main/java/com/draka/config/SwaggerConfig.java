@@ -1,5 +1,7 @@
 package com.draka.config;
 
+import com.draka.security.CurrentLecturerId;
+import com.draka.security.CurrentStudentId;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
@@ -7,6 +9,7 @@ import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -17,6 +20,11 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class SwaggerConfig {
     
+    static {
+        // Resolved from the authenticated user, not request parameters
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(CurrentStudentId.class, CurrentLecturerId.class);
+    }
+    
     @Bean
     public OpenAPI customOpenAPI() {
         final String securitySchemeName = "bearerAuth";
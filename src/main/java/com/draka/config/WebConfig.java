@@ -0,0 +1,25 @@
+package com.draka.config;
+
+import com.draka.security.ProfileIdResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC configuration.
+ * Registers the resolver for the caller's Student/Lecturer profile id parameters.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    
+    @Autowired
+    private ProfileIdResolver profileIdResolver;
+    
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(profileIdResolver);
+    }
+}
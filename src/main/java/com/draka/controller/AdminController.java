@@ -2,16 +2,30 @@ package com.draka.controller;
 
 import com.draka.dto.*;
 import com.draka.entity.*;
+import com.draka.enums.AllocationStatus;
+import com.draka.enums.ExportFormat;
+import com.draka.enums.Role;
+import com.draka.repository.LecturerRepository;
 import com.draka.repository.StudentRepository;
 import com.draka.repository.UserRepository;
+import com.draka.security.BoundedPasswordEncoder;
+import com.draka.security.ProfileIdResolver;
+import com.draka.security.UserDetailsCache;
 import com.draka.service.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -32,6 +46,9 @@ public class AdminController {
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private LecturerRepository lecturerRepository;
+    
     @Autowired
     private DepartmentService departmentService;
     
@@ -44,6 +61,30 @@ public class AdminController {
     @Autowired
     private AllocationService allocationService;
     
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
+    @Autowired
+    private ProfileIdResolver profileIdResolver;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private FlightRecorderService flightRecorderService;
+    
+    @Autowired
+    private StudentImportService studentImportService;
+    
     // ==================== User Management ====================
     
     /**
@@ -60,10 +101,15 @@ public class AdminController {
      * Get all users.
      */
     @GetMapping("/users")
-    @Operation(summary = "Get all users", description = "Get all users in the system")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return ResponseEntity.ok(users);
+    @Operation(summary = "Get all users", description = "Get users in the system, one keyset page at a time")
+    public ResponseEntity<CursorPage<User>> getAllUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        int pageSize = CursorPage.pageSize(size);
+        List<User> users = userRepository.findPage(CursorPage.after(cursor), role, CursorPage.limit(pageSize));
+        return ResponseEntity.ok(CursorPage.of(users, pageSize, User::getId));
     }
     
     /**
@@ -77,14 +123,74 @@ public class AdminController {
         return ResponseEntity.ok(user);
     }
     
+    /**
+     * Import students from a CSV file.
+     */
+    @PostMapping(value = "/students/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @Operation(summary = "Import students from CSV", 
+               description = "Create student accounts from a CSV request body with header username, email, password, "
+                       + "first_name, last_name, student_id, department_code and optional gpa, current_semester, "
+                       + "year_of_study. Valid rows are imported; the rest are listed with the reason")
+    public ResponseEntity<ApiResponse> importStudents(InputStream csv) {
+        StudentImportResult result = studentImportService.importCsv(csv);
+        String message = String.format("Imported %d of %d students", result.getImported(), result.getTotalRows());
+        return ResponseEntity.ok(new ApiResponse(true, message, result));
+    }
+    
     /**
      * Get all students.
      */
     @GetMapping("/students")
-    @Operation(summary = "Get all students", description = "Get all students in the system")
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = studentRepository.findAll();
-        return ResponseEntity.ok(students);
+    @Operation(summary = "Get all students", description = "Get students in the system, one keyset page at a time")
+    public ResponseEntity<CursorPage<Student>> getAllStudents(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        int pageSize = CursorPage.pageSize(size);
+        List<Student> students = studentRepository.findPage(
+                CursorPage.after(cursor), departmentId, CursorPage.limit(pageSize));
+        return ResponseEntity.ok(CursorPage.of(students, pageSize, Student::getId));
+    }
+    
+    /**
+     * Enable user.
+     */
+    @PutMapping("/users/{id}/enable")
+    @Operation(summary = "Enable user", description = "Re-enable a disabled user account")
+    public ResponseEntity<ApiResponse> enableUser(@PathVariable Long id) {
+        User user = authService.setUserEnabled(id, true);
+        return ResponseEntity.ok(new ApiResponse(true, "User enabled successfully", user));
+    }
+    
+    /**
+     * Disable user.
+     */
+    @PutMapping("/users/{id}/disable")
+    @Operation(summary = "Disable user", description = "Disable a user account; their tokens stop being accepted")
+    public ResponseEntity<ApiResponse> disableUser(@PathVariable Long id) {
+        User user = authService.setUserEnabled(id, false);
+        return ResponseEntity.ok(new ApiResponse(true, "User disabled successfully", user));
+    }
+    
+    /**
+     * Revoke all of a user's tokens.
+     */
+    @PostMapping("/users/{id}/revoke-tokens")
+    @Operation(summary = "Revoke user tokens", description = "Revoke every token issued to the user so far")
+    public ResponseEntity<ApiResponse> revokeUserTokens(@PathVariable Long id) {
+        User user = authService.revokeUserTokens(id);
+        return ResponseEntity.ok(new ApiResponse(true, "User tokens revoked successfully", user));
+    }
+    
+    /**
+     * Revoke a single token.
+     */
+    @PostMapping("/tokens/revoke")
+    @Operation(summary = "Revoke token", description = "Revoke a single access token before it expires")
+    public ResponseEntity<ApiResponse> revokeToken(@Valid @RequestBody RevokeTokenRequest request) {
+        tokenRevocationService.revokeToken(request.getToken());
+        return ResponseEntity.ok(new ApiResponse(true, "Token revoked successfully", null));
     }
     
     // ==================== Department Management ====================
@@ -116,9 +222,9 @@ public class AdminController {
      * Get all departments.
      */
     @GetMapping("/departments")
-    @Operation(summary = "Get all departments", description = "Get all departments")
-    public ResponseEntity<List<Department>> getAllDepartments() {
-        List<Department> departments = departmentService.getAllDepartments();
+    @Operation(summary = "Get all departments", description = "Get all departments with student, lecturer and course counts")
+    public ResponseEntity<List<DepartmentSummary>> getAllDepartments() {
+        List<DepartmentSummary> departments = departmentService.getDepartmentSummaries();
         return ResponseEntity.ok(departments);
     }
     
@@ -126,12 +232,55 @@ public class AdminController {
      * Get department by ID.
      */
     @GetMapping("/departments/{id}")
-    @Operation(summary = "Get department by ID", description = "Get department details by ID")
-    public ResponseEntity<Department> getDepartmentById(@PathVariable Long id) {
-        Department department = departmentService.getDepartmentById(id);
+    @Operation(summary = "Get department by ID", description = "Get department details and counts by ID")
+    public ResponseEntity<DepartmentSummary> getDepartmentById(@PathVariable Long id) {
+        DepartmentSummary department = departmentService.getDepartmentSummary(id);
         return ResponseEntity.ok(department);
     }
     
+    /**
+     * Get a department's students.
+     */
+    @GetMapping("/departments/{id}/students")
+    @Operation(summary = "Get department students", description = "Get a department's students, one keyset page at a time")
+    public ResponseEntity<CursorPage<Student>> getDepartmentStudents(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        return getAllStudents(id, cursor, size);
+    }
+    
+    /**
+     * Get a department's lecturers.
+     */
+    @GetMapping("/departments/{id}/lecturers")
+    @Operation(summary = "Get department lecturers", description = "Get a department's lecturers, one keyset page at a time")
+    public ResponseEntity<CursorPage<Lecturer>> getDepartmentLecturers(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        int pageSize = CursorPage.pageSize(size);
+        List<Lecturer> lecturers = lecturerRepository.findPage(
+                CursorPage.after(cursor), id, CursorPage.limit(pageSize));
+        return ResponseEntity.ok(CursorPage.of(lecturers, pageSize, Lecturer::getId));
+    }
+    
+    /**
+     * Get a department's courses.
+     */
+    @GetMapping("/departments/{id}/courses")
+    @Operation(summary = "Get department courses", description = "Get a department's courses, one keyset page at a time")
+    public ResponseEntity<CursorPage<Course>> getDepartmentCourses(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long semesterId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        return ResponseEntity.ok(courseService.getCoursesPage(semesterId, id, null, cursor, size));
+    }
+    
     /**
      * Delete department.
      */
@@ -236,10 +385,14 @@ public class AdminController {
      * Get all courses.
      */
     @GetMapping("/courses")
-    @Operation(summary = "Get all courses", description = "Get all courses")
-    public ResponseEntity<List<Course>> getAllCourses() {
-        List<Course> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(courses);
+    @Operation(summary = "Get all courses", description = "Get courses, one keyset page at a time")
+    public ResponseEntity<CursorPage<Course>> getAllCourses(
+            @RequestParam(required = false) Long semesterId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        return ResponseEntity.ok(courseService.getCoursesPage(semesterId, departmentId, null, cursor, size));
     }
     
     /**
@@ -278,10 +431,17 @@ public class AdminController {
      * Get all allocations.
      */
     @GetMapping("/allocations")
-    @Operation(summary = "Get all allocations", description = "Get all course allocations")
-    public ResponseEntity<List<Allocation>> getAllAllocations() {
-        List<Allocation> allocations = allocationService.getAllAllocations();
-        return ResponseEntity.ok(allocations);
+    @Operation(summary = "Get all allocations", description = "Get course allocations, one keyset page at a time")
+    public ResponseEntity<CursorPage<Allocation>> getAllAllocations(
+            @RequestParam(required = false) AllocationStatus status,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) Long semesterId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        return ResponseEntity.ok(allocationService.getAllocationsPage(
+                status, courseId, semesterId, departmentId, null, cursor, size));
     }
     
     /**
@@ -303,4 +463,148 @@ public class AdminController {
         Allocation allocation = allocationService.processEnrollmentRequest(request);
         return ResponseEntity.ok(new ApiResponse(true, "Allocation processed successfully", allocation));
     }
+    
+    // ==================== Cache ====================
+    
+    /**
+     * Get second-level cache statistics.
+     */
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get cache statistics", description = "Get second-level and query cache hit/miss counts")
+    public ResponseEntity<CacheStatistics> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getStatistics());
+    }
+    
+    /**
+     * Get authenticated-user cache statistics.
+     */
+    @GetMapping("/cache/user-details/stats")
+    @Operation(summary = "Get user cache statistics", description = "Get hit/miss counts of the JWT filter's user lookup cache")
+    public ResponseEntity<LocalCacheStatistics> getUserDetailsCacheStatistics() {
+        return ResponseEntity.ok(userDetailsCache.getStatistics());
+    }
+    
+    /**
+     * Get caller profile id cache statistics.
+     */
+    @GetMapping("/cache/profile-ids/stats")
+    @Operation(summary = "Get profile id cache statistics", 
+               description = "Get hit/miss counts of the user id to student/lecturer id caches")
+    public ResponseEntity<List<LocalCacheStatistics>> getProfileIdCacheStatistics() {
+        return ResponseEntity.ok(profileIdResolver.getStatistics());
+    }
+    
+    /**
+     * Get password hashing pool statistics.
+     */
+    @GetMapping("/security/password-hashing/stats")
+    @Operation(summary = "Get password hashing statistics", 
+               description = "Get queue depth, rejections and average hash/wait time of the password hashing pool")
+    public ResponseEntity<PasswordHashingStatistics> getPasswordHashingStatistics() {
+        return ResponseEntity.ok(passwordEncoder.getStatistics());
+    }
+    
+    /**
+     * Clear the second-level cache.
+     */
+    @PostMapping("/cache/clear")
+    @Operation(summary = "Clear cache", description = "Evict all cached entities and queries and reset statistics")
+    public ResponseEntity<ApiResponse> clearCache() {
+        cacheStatisticsService.clear();
+        return ResponseEntity.ok(new ApiResponse(true, "Cache cleared successfully"));
+    }
+    
+    // ==================== Flight Recording ====================
+    
+    /**
+     * Get flight recording state.
+     */
+    @GetMapping("/jfr")
+    @Operation(summary = "Get flight recording", description = "Get the state of the on-demand JFR recording")
+    public ResponseEntity<FlightRecordingStatus> getFlightRecording() {
+        return ResponseEntity.ok(flightRecorderService.getStatus());
+    }
+    
+    /**
+     * Start a flight recording.
+     */
+    @PostMapping("/jfr/start")
+    @Operation(summary = "Start flight recording", 
+               description = "Start a JFR recording with the JDK's 'default' (low overhead) or 'profile' settings")
+    public ResponseEntity<ApiResponse> startFlightRecording(@RequestParam(defaultValue = "default") String settings) {
+        FlightRecordingStatus status = flightRecorderService.start(settings);
+        return ResponseEntity.ok(new ApiResponse(true, "Recording started", status));
+    }
+    
+    /**
+     * Stop the flight recording.
+     */
+    @PostMapping("/jfr/stop")
+    @Operation(summary = "Stop flight recording", description = "Stop the running JFR recording, keeping its data for download")
+    public ResponseEntity<ApiResponse> stopFlightRecording() {
+        FlightRecordingStatus status = flightRecorderService.stop();
+        return ResponseEntity.ok(new ApiResponse(true, "Recording stopped", status));
+    }
+    
+    /**
+     * Download the data recorded so far.
+     */
+    @GetMapping("/jfr/dump")
+    @Operation(summary = "Dump flight recording", description = "Download the recording so far as a .jfr file")
+    public ResponseEntity<StreamingResponseBody> dumpFlightRecording() {
+        Path file = flightRecorderService.dumpToFile();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recording.jfr\"")
+                .body(body);
+    }
+    
+    // ==================== Exports ====================
+    
+    /**
+     * Export allocations, streamed row by row.
+     */
+    @GetMapping("/exports/allocations")
+    @Operation(summary = "Export allocations", description = "Stream allocations as CSV or NDJSON, optionally for one semester")
+    public ResponseEntity<StreamingResponseBody> exportAllocations(
+            @RequestParam(required = false) Long semesterId,
+            @RequestParam(required = false) AllocationStatus status,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        
+        String filename = semesterId == null ? "allocations" : "allocations-semester-" + semesterId;
+        return export(filename, format, out -> exportService.exportAllocations(semesterId, null, status, format, out));
+    }
+    
+    /**
+     * Export the approved roster of a course, streamed row by row.
+     */
+    @GetMapping("/exports/courses/{courseId}/roster")
+    @Operation(summary = "Export course roster", description = "Stream a course's approved students as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportCourseRoster(
+            @PathVariable Long courseId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        
+        courseService.getCourseById(courseId);
+        return export("roster-course-" + courseId, format,
+                out -> exportService.exportAllocations(null, courseId, AllocationStatus.APPROVED, format, out));
+    }
+    
+    private ResponseEntity<StreamingResponseBody> export(String filename, ExportFormat format, StreamingResponseBody body) {
+        boolean csv = format == ExportFormat.CSV;
+        MediaType contentType = csv
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + filename + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
 }
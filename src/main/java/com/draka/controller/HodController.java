@@ -3,17 +3,18 @@ package com.draka.controller;
 import com.draka.dto.ApiResponse;
 import com.draka.dto.AssignLecturerRequest;
 import com.draka.dto.CourseRequest;
+import com.draka.dto.CursorPage;
 import com.draka.entity.Course;
 import com.draka.entity.Lecturer;
-import com.draka.entity.User;
+import com.draka.exception.ResourceNotFoundException;
 import com.draka.repository.LecturerRepository;
+import com.draka.security.CurrentLecturerId;
 import com.draka.service.CourseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -38,10 +39,9 @@ public class HodController {
      */
     @GetMapping("/dashboard")
     @Operation(summary = "Get HOD dashboard", description = "Get dashboard information for logged-in HOD")
-    public ResponseEntity<ApiResponse> getDashboard(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        Lecturer lecturer = lecturerRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("HOD profile not found"));
+    public ResponseEntity<ApiResponse> getDashboard(@CurrentLecturerId Long lecturerId) {
+        Lecturer lecturer = lecturerRepository.findWithDetailsById(lecturerId)
+                .orElseThrow(() -> new ResourceNotFoundException("HOD profile not found"));
         
         return ResponseEntity.ok(new ApiResponse(true, "Dashboard data retrieved", lecturer));
     }
@@ -83,10 +83,14 @@ public class HodController {
      * Get all courses.
      */
     @GetMapping("/courses")
-    @Operation(summary = "Get all courses", description = "Get all courses")
-    public ResponseEntity<List<Course>> getAllCourses() {
-        List<Course> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(courses);
+    @Operation(summary = "Get all courses", description = "Get courses, one keyset page at a time")
+    public ResponseEntity<CursorPage<Course>> getAllCourses(
+            @RequestParam(required = false) Long semesterId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        return ResponseEntity.ok(courseService.getCoursesPage(semesterId, departmentId, null, cursor, size));
     }
     
     /**
@@ -94,9 +98,13 @@ public class HodController {
      */
     @GetMapping("/departments/{departmentId}/courses")
     @Operation(summary = "Get courses by department", description = "Get all courses in a department")
-    public ResponseEntity<List<Course>> getCoursesByDepartment(@PathVariable Long departmentId) {
-        List<Course> courses = courseService.getCoursesByDepartment(departmentId);
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<CursorPage<Course>> getCoursesByDepartment(
+            @PathVariable Long departmentId,
+            @RequestParam(required = false) Long semesterId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        return ResponseEntity.ok(courseService.getCoursesPage(semesterId, departmentId, null, cursor, size));
     }
     
     /**
@@ -114,8 +122,14 @@ public class HodController {
      */
     @GetMapping("/departments/{departmentId}/lecturers")
     @Operation(summary = "Get lecturers by department", description = "Get all lecturers in a department")
-    public ResponseEntity<List<Lecturer>> getLecturersByDepartment(@PathVariable Long departmentId) {
-        List<Lecturer> lecturers = lecturerRepository.findByDepartmentId(departmentId);
-        return ResponseEntity.ok(lecturers);
+    public ResponseEntity<CursorPage<Lecturer>> getLecturersByDepartment(
+            @PathVariable Long departmentId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        int pageSize = CursorPage.pageSize(size);
+        List<Lecturer> lecturers = lecturerRepository.findPage(
+                CursorPage.after(cursor), departmentId, CursorPage.limit(pageSize));
+        return ResponseEntity.ok(CursorPage.of(lecturers, pageSize, Lecturer::getId));
     }
 }
@@ -1,24 +1,31 @@
 package com.draka.controller;
 
+import com.draka.dto.AllocationSummary;
 import com.draka.dto.ApiResponse;
 import com.draka.dto.ApprovalRequest;
+import com.draka.dto.BulkApprovalRequest;
+import com.draka.dto.BulkApprovalResult;
+import com.draka.dto.CourseSummary;
+import com.draka.dto.CursorPage;
 import com.draka.dto.UpdateGpaRequirementRequest;
-import com.draka.entity.Allocation;
 import com.draka.entity.Course;
 import com.draka.entity.Lecturer;
-import com.draka.entity.User;
+import com.draka.enums.AllocationStatus;
+import com.draka.exception.ResourceNotFoundException;
 import com.draka.repository.LecturerRepository;
+import com.draka.security.CurrentLecturerId;
 import com.draka.service.AllocationService;
 import com.draka.service.CourseService;
+import com.draka.service.EnrollmentPipeline;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for Lecturer-specific endpoints.
@@ -38,15 +45,17 @@ public class LecturerController {
     @Autowired
     private LecturerRepository lecturerRepository;
     
+    @Autowired
+    private EnrollmentPipeline enrollmentPipeline;
+    
     /**
      * Get lecturer dashboard info.
      */
     @GetMapping("/dashboard")
     @Operation(summary = "Get lecturer dashboard", description = "Get dashboard information for logged-in lecturer")
-    public ResponseEntity<ApiResponse> getDashboard(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        Lecturer lecturer = lecturerRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Lecturer profile not found"));
+    public ResponseEntity<ApiResponse> getDashboard(@CurrentLecturerId Long lecturerId) {
+        Lecturer lecturer = lecturerRepository.findWithDetailsById(lecturerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lecturer profile not found"));
         
         return ResponseEntity.ok(new ApiResponse(true, "Dashboard data retrieved", lecturer));
     }
@@ -56,13 +65,13 @@ public class LecturerController {
      */
     @GetMapping("/courses")
     @Operation(summary = "Get assigned courses", description = "Get courses assigned to this lecturer")
-    public ResponseEntity<List<Course>> getAssignedCourses(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        Lecturer lecturer = lecturerRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Lecturer profile not found"));
+    public ResponseEntity<CursorPage<CourseSummary>> getAssignedCourses(
+            @CurrentLecturerId Long lecturerId,
+            @RequestParam(required = false) Long semesterId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
         
-        List<Course> courses = courseService.getCoursesByLecturer(lecturer.getId());
-        return ResponseEntity.ok(courses);
+        return ResponseEntity.ok(courseService.getCourseSummaryPage(semesterId, lecturerId, cursor, size));
     }
     
     /**
@@ -71,13 +80,15 @@ public class LecturerController {
     @GetMapping("/enrollment-requests")
     @Operation(summary = "Get enrollment requests", 
                description = "Get all enrollment requests for courses taught by this lecturer")
-    public ResponseEntity<List<Allocation>> getEnrollmentRequests(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        Lecturer lecturer = lecturerRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Lecturer profile not found"));
+    public ResponseEntity<CursorPage<AllocationSummary>> getEnrollmentRequests(
+            @CurrentLecturerId Long lecturerId,
+            @RequestParam(required = false) AllocationStatus status,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
         
-        List<Allocation> allocations = allocationService.getAllocationsByLecturer(lecturer.getId());
-        return ResponseEntity.ok(allocations);
+        return ResponseEntity.ok(allocationService.getAllocationSummaryPage(
+                status, courseId, lecturerId, cursor, size));
     }
     
     /**
@@ -86,13 +97,14 @@ public class LecturerController {
     @GetMapping("/enrollment-requests/pending")
     @Operation(summary = "Get pending enrollment requests", 
                description = "Get pending enrollment requests for courses taught by this lecturer")
-    public ResponseEntity<List<Allocation>> getPendingEnrollmentRequests(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        Lecturer lecturer = lecturerRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Lecturer profile not found"));
+    public ResponseEntity<CursorPage<AllocationSummary>> getPendingEnrollmentRequests(
+            @CurrentLecturerId Long lecturerId,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
         
-        List<Allocation> allocations = allocationService.getPendingAllocationsForLecturer(lecturer.getId());
-        return ResponseEntity.ok(allocations);
+        return ResponseEntity.ok(allocationService.getAllocationSummaryPage(
+                AllocationStatus.PENDING, courseId, lecturerId, cursor, size));
     }
     
     /**
@@ -101,11 +113,39 @@ public class LecturerController {
     @PostMapping("/enrollment-requests/process")
     @Operation(summary = "Process enrollment request", 
                description = "Approve or deny a student's enrollment request")
-    public ResponseEntity<ApiResponse> processEnrollmentRequest(
+    public CompletableFuture<ResponseEntity<ApiResponse>> processEnrollmentRequest(
             @Valid @RequestBody ApprovalRequest request) {
         
-        Allocation allocation = allocationService.processEnrollmentRequest(request);
-        return ResponseEntity.ok(new ApiResponse(true, "Enrollment request processed successfully", allocation));
+        return enrollmentPipeline.submitApproval(request)
+                .thenApply(allocation -> ResponseEntity.ok(
+                        new ApiResponse(true, "Enrollment request processed successfully", allocation)));
+    }
+    
+    /**
+     * Approve or deny many enrollment requests at once.
+     */
+    @PostMapping("/enrollment-requests/process-bulk")
+    @Operation(summary = "Process enrollment requests in bulk", 
+               description = "Approve or deny many enrollment requests in one transaction, with a result per request")
+    public ResponseEntity<ApiResponse> processEnrollmentRequests(
+            @Valid @RequestBody BulkApprovalRequest request) {
+        
+        List<BulkApprovalResult> results = allocationService.processEnrollmentRequests(request.getRequests());
+        return ResponseEntity.ok(new ApiResponse(true, summarize(results), results));
+    }
+    
+    /**
+     * Approve all pending requests for a course, up to capacity.
+     */
+    @PostMapping("/courses/{courseId}/enrollment-requests/approve-pending")
+    @Operation(summary = "Approve pending requests up to capacity", 
+               description = "Approve a course's pending enrollment requests, highest GPA first, until it is full")
+    public ResponseEntity<ApiResponse> approveAllPending(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) String comment) {
+        
+        List<BulkApprovalResult> results = allocationService.approveAllPending(courseId, comment);
+        return ResponseEntity.ok(new ApiResponse(true, summarize(results), results));
     }
     
     /**
@@ -129,8 +169,18 @@ public class LecturerController {
     @GetMapping("/courses/{courseId}/students")
     @Operation(summary = "Get enrolled students", 
                description = "Get students enrolled in a specific course")
-    public ResponseEntity<List<Allocation>> getEnrolledStudents(@PathVariable Long courseId) {
-        List<Allocation> allocations = allocationService.getAllocationsByCourse(courseId);
-        return ResponseEntity.ok(allocations);
+    public ResponseEntity<CursorPage<AllocationSummary>> getEnrolledStudents(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) AllocationStatus status,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        return ResponseEntity.ok(allocationService.getAllocationSummaryPage(
+                status, courseId, null, cursor, size));
+    }
+    
+    private String summarize(List<BulkApprovalResult> results) {
+        long succeeded = results.stream().filter(BulkApprovalResult::getSuccess).count();
+        return String.format("Processed %d of %d enrollment requests", succeeded, results.size());
     }
 }
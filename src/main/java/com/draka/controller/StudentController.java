@@ -1,15 +1,21 @@
 package com.draka.controller;
 
+import com.draka.dto.AllocationSummary;
 import com.draka.dto.ApiResponse;
+import com.draka.dto.CourseSummary;
 import com.draka.dto.EnrollmentRequest;
+import com.draka.dto.WaitingRoomStatus;
 import com.draka.entity.Allocation;
-import com.draka.entity.Course;
 import com.draka.entity.Student;
-import com.draka.entity.User;
+import com.draka.enums.AllocationStatus;
+import com.draka.exception.ResourceNotFoundException;
 import com.draka.repository.StudentRepository;
+import com.draka.security.CurrentStudentId;
 import com.draka.service.AllocationService;
 import com.draka.service.CourseService;
+import com.draka.service.EnrollmentPipeline;
 import com.draka.service.SemesterService;
+import com.draka.service.WaitingRoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -19,6 +25,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for Student-specific endpoints.
@@ -38,6 +45,12 @@ public class StudentController {
     @Autowired
     private SemesterService semesterService;
     
+    @Autowired
+    private EnrollmentPipeline enrollmentPipeline;
+    
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+    
     @Autowired
     private StudentRepository studentRepository;
     
@@ -46,28 +59,34 @@ public class StudentController {
      */
     @GetMapping("/dashboard")
     @Operation(summary = "Get student dashboard", description = "Get dashboard information for logged-in student")
-    public ResponseEntity<ApiResponse> getDashboard(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        Student student = studentRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Student profile not found"));
+    public ResponseEntity<ApiResponse> getDashboard(@CurrentStudentId Long studentId) {
+        Student student = studentRepository.findWithDetailsById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student profile not found"));
         
         return ResponseEntity.ok(new ApiResponse(true, "Dashboard data retrieved", student));
     }
     
+    /**
+     * Join (or poll) the registration waiting room.
+     */
+    @PostMapping("/waiting-room")
+    @Operation(summary = "Join registration waiting room", 
+               description = "Get a queue position, or an admission token for the enrollment endpoints once admitted")
+    public ResponseEntity<ApiResponse> joinWaitingRoom(Authentication authentication) {
+        WaitingRoomStatus status = waitingRoomService.join(authentication.getName());
+        String message = status.getAdmitted() ? "Admitted to registration" : "Waiting for admission";
+        return ResponseEntity.ok(new ApiResponse(true, message, status));
+    }
+    
     /**
      * Get eligible courses for student.
      */
     @GetMapping("/courses/eligible")
     @Operation(summary = "Get eligible courses", 
                description = "Get courses student is eligible for based on GPA and active semester")
-    public ResponseEntity<List<Course>> getEligibleCourses(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        Student student = studentRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Student profile not found"));
-        
+    public ResponseEntity<List<CourseSummary>> getEligibleCourses(@CurrentStudentId Long studentId) {
         Long activeSemesterId = semesterService.getActiveSemester().getId();
-        List<Course> courses = courseService.getEligibleCoursesForStudent(
-                student.getGpa(), activeSemesterId);
+        List<CourseSummary> courses = courseService.getEligibleCourseSummaries(studentId, activeSemesterId);
         
         return ResponseEntity.ok(courses);
     }
@@ -77,16 +96,29 @@ public class StudentController {
      */
     @PostMapping("/courses/enroll")
     @Operation(summary = "Enroll in course", description = "Request enrollment in a course")
-    public ResponseEntity<ApiResponse> enrollInCourse(
-            Authentication authentication,
+    public CompletableFuture<ResponseEntity<ApiResponse>> enrollInCourse(
+            @CurrentStudentId Long studentId,
             @Valid @RequestBody EnrollmentRequest request) {
         
-        User user = (User) authentication.getPrincipal();
-        Student student = studentRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Student profile not found"));
+        return enrollmentPipeline.submitEnrollment(studentId, request)
+                .thenApply(allocation -> ResponseEntity.ok(new ApiResponse(true,
+                        allocation.getStatus() == AllocationStatus.WAITLISTED
+                                ? "Course is full, you have been added to the waitlist"
+                                : "Enrollment request submitted successfully",
+                        allocation)));
+    }
+    
+    /**
+     * Get waitlist position for a course.
+     */
+    @GetMapping("/courses/{courseId}/waitlist-position")
+    @Operation(summary = "Get waitlist position", description = "Get the student's position on a full course's waitlist")
+    public ResponseEntity<ApiResponse> getWaitlistPosition(
+            @CurrentStudentId Long studentId,
+            @PathVariable Long courseId) {
         
-        Allocation allocation = allocationService.enrollInCourse(student.getId(), request);
-        return ResponseEntity.ok(new ApiResponse(true, "Enrollment request submitted successfully", allocation));
+        Long position = allocationService.getWaitlistPosition(studentId, courseId);
+        return ResponseEntity.ok(new ApiResponse(true, "Waitlist position retrieved", position));
     }
     
     /**
@@ -94,12 +126,9 @@ public class StudentController {
      */
     @GetMapping("/courses/enrolled")
     @Operation(summary = "Get enrolled courses", description = "Get courses student is enrolled in (approved)")
-    public ResponseEntity<List<Allocation>> getEnrolledCourses(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        Student student = studentRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Student profile not found"));
-        
-        List<Allocation> allocations = allocationService.getEnrolledCourses(student.getId());
+    public ResponseEntity<List<AllocationSummary>> getEnrolledCourses(@CurrentStudentId Long studentId) {
+        List<AllocationSummary> allocations = allocationService.getAllocationSummariesByStudent(
+                studentId, AllocationStatus.APPROVED);
         return ResponseEntity.ok(allocations);
     }
     
@@ -109,12 +138,9 @@ public class StudentController {
     @GetMapping("/allocations")
     @Operation(summary = "Get all allocations", 
                description = "Get all course allocations (pending, approved, denied, dropped)")
-    public ResponseEntity<List<Allocation>> getAllAllocations(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        Student student = studentRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Student profile not found"));
-        
-        List<Allocation> allocations = allocationService.getAllocationsByStudent(student.getId());
+    public ResponseEntity<List<AllocationSummary>> getAllAllocations(@CurrentStudentId Long studentId) {
+        List<AllocationSummary> allocations = allocationService.getAllocationSummariesByStudent(
+                studentId, null);
         return ResponseEntity.ok(allocations);
     }
     
@@ -124,14 +150,10 @@ public class StudentController {
     @PostMapping("/courses/{courseId}/drop")
     @Operation(summary = "Drop course", description = "Drop an enrolled course")
     public ResponseEntity<ApiResponse> dropCourse(
-            Authentication authentication,
+            @CurrentStudentId Long studentId,
             @PathVariable Long courseId) {
         
-        User user = (User) authentication.getPrincipal();
-        Student student = studentRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Student profile not found"));
-        
-        Allocation allocation = allocationService.dropCourse(student.getId(), courseId);
+        Allocation allocation = allocationService.dropCourse(studentId, courseId);
         return ResponseEntity.ok(new ApiResponse(true, "Course dropped successfully", allocation));
     }
 }
@@ -0,0 +1,153 @@
+package com.draka.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+
+/**
+ * Streams rows into one table: PostgreSQL COPY when the connection supports it,
+ * batched INSERTs otherwise.
+ */
+abstract class BulkLoader implements AutoCloseable {
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    private long rows;
+    
+    static BulkLoader open(Connection connection, String table, String... columns) throws SQLException {
+        String columnList = String.join(", ", columns);
+        if (connection.isWrapperFor(PGConnection.class)) {
+            CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + columnList + ") FROM STDIN");
+            return new Copy(copy);
+        }
+        String placeholders = String.join(", ", Collections.nCopies(columns.length, "?"));
+        return new BatchInsert(connection.prepareStatement(
+                "INSERT INTO " + table + " (" + columnList + ") VALUES (" + placeholders + ")"));
+    }
+    
+    /**
+     * Add one row, values in column order.
+     */
+    void add(Object... values) throws SQLException {
+        write(values);
+        rows++;
+    }
+    
+    long rows() {
+        return rows;
+    }
+    
+    protected abstract void write(Object[] values) throws SQLException;
+    
+    @Override
+    public abstract void close() throws SQLException;
+    
+    /**
+     * COPY text format: tab-separated, \N for null, backslash escapes.
+     */
+    private static class Copy extends BulkLoader {
+        
+        private static final int FLUSH_THRESHOLD = 1 << 16;
+        
+        private final CopyIn copy;
+        
+        private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+        
+        Copy(CopyIn copy) {
+            this.copy = copy;
+        }
+        
+        @Override
+        protected void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                append(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+        }
+        
+        private void append(Object value) {
+            if (value == null) {
+                buffer.append("\\N");
+            } else if (value instanceof Boolean bool) {
+                buffer.append(bool ? 't' : 'f');
+            } else if (value instanceof Enum<?> constant) {
+                buffer.append(constant.name());
+            } else if (value instanceof String text) {
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    switch (c) {
+                        case '\\' -> buffer.append("\\\\");
+                        case '\t' -> buffer.append("\\t");
+                        case '\n' -> buffer.append("\\n");
+                        case '\r' -> buffer.append("\\r");
+                        default -> buffer.append(c);
+                    }
+                }
+            } else {
+                buffer.append(value);
+            }
+        }
+        
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+        
+        @Override
+        public void close() throws SQLException {
+            if (!copy.isActive()) {
+                return;
+            }
+            flush();
+            copy.endCopy();
+        }
+    }
+    
+    private static class BatchInsert extends BulkLoader {
+        
+        private final PreparedStatement statement;
+        
+        private int pending;
+        
+        BatchInsert(PreparedStatement statement) {
+            this.statement = statement;
+        }
+        
+        @Override
+        protected void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                statement.setObject(i + 1, value instanceof Enum<?> constant ? constant.name() : value);
+            }
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+        
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
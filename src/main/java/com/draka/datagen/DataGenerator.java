@@ -0,0 +1,499 @@
+package com.draka.datagen;
+
+import com.draka.enums.AllocationStatus;
+import com.draka.enums.Role;
+import com.draka.enums.SemesterType;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic data set for performance work, enabled with the {@code datagen} profile.
+ *
+ * Fills an empty schema with departments, semesters (the last one active), lecturers,
+ * students with a normal GPA spread, courses and allocations in every status. Course
+ * popularity follows a Zipf distribution, so a few courses fill up and build waitlists
+ * while the long tail stays mostly empty. Seats, waitlist sequences and GPA requirements
+ * are consistent with the enrollment rules. Ids are assigned here and the id
+ * sequences moved past them afterwards; the same seed always produces the same data.
+ *
+ * Rows are streamed with PostgreSQL COPY, or batched INSERTs on other databases, in a
+ * single transaction. The application exits when loading is done.
+ */
+@Component
+@Profile("datagen")
+public class DataGenerator implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+    
+    private static final String[][] DEPARTMENTS = {
+            {"Computer Science", "CS"}, {"Electrical Engineering", "EE"}, {"Mechanical Engineering", "ME"},
+            {"Civil Engineering", "CE"}, {"Mathematics", "MATH"}, {"Physics", "PHY"}, {"Chemistry", "CHEM"},
+            {"Biology", "BIO"}, {"Economics", "ECON"}, {"Business Administration", "BUS"}, {"Accounting", "ACC"},
+            {"Law", "LAW"}, {"Medicine", "MED"}, {"Nursing", "NUR"}, {"Psychology", "PSY"}, {"Sociology", "SOC"},
+            {"History", "HIST"}, {"English", "ENG"}, {"Architecture", "ARCH"}, {"Agriculture", "AGR"}
+    };
+    
+    private static final String[] FIRST_NAMES = {
+            "Kwame", "Ama", "Kofi", "Akosua", "Yaw", "Abena", "Kojo", "Efua", "John", "Mary", "David", "Grace",
+            "Michael", "Sarah", "Daniel", "Esther", "Samuel", "Ruth", "Joseph", "Linda"
+    };
+    
+    private static final String[] LAST_NAMES = {
+            "Mensah", "Owusu", "Boateng", "Asante", "Osei", "Addo", "Appiah", "Agyeman", "Darko", "Ofori",
+            "Smith", "Johnson", "Brown", "Williams", "Taylor", "Anderson", "Thomas", "Moore", "Martin", "Clark"
+    };
+    
+    /** Course GPA requirements and their cumulative probabilities. */
+    private static final double[] MINIMUM_GPAS = {0.0, 2.0, 2.5, 3.0};
+    
+    private static final double[] MINIMUM_GPA_WEIGHTS = {0.70, 0.85, 0.95, 1.0};
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private ApplicationContext applicationContext;
+    
+    @Value("${datagen.seed:42}")
+    private long seed;
+    
+    @Value("${datagen.departments:20}")
+    private int departments;
+    
+    @Value("${datagen.semesters:8}")
+    private int semesters;
+    
+    @Value("${datagen.first-year:2022}")
+    private int firstYear;
+    
+    @Value("${datagen.lecturers:1000}")
+    private int lecturers;
+    
+    @Value("${datagen.students:100000}")
+    private int students;
+    
+    @Value("${datagen.courses:5000}")
+    private int courses;
+    
+    @Value("${datagen.allocations:1200000}")
+    private int allocations;
+    
+    @Value("${datagen.zipf-exponent:1.0}")
+    private double zipfExponent;
+    
+    @Value("${datagen.password:password123}")
+    private String password;
+    
+    @Value("${datagen.admin-password:admin123}")
+    private String adminPassword;
+    
+    @Value("${datagen.reset:false}")
+    private boolean reset;
+    
+    /** Creation time of the reference data (users, departments, lecturers). */
+    private LocalDateTime establishedAt;
+    
+    private double[] studentGpa;
+    
+    private int[] courseSemester;
+    
+    private double[] courseMinimumGpa;
+    
+    private int[] courseCapacity;
+    
+    private int[] courseEnrollment;
+    
+    private int[] courseWaitlistTail;
+    
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (lecturers < departments) {
+            throw new IllegalArgumentException("datagen.lecturers must be at least datagen.departments");
+        }
+        long start = System.nanoTime();
+        establishedAt = LocalDate.of(firstYear - 1, 8, 1).atStartOfDay();
+        SplittableRandom random = new SplittableRandom(seed);
+        
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            boolean postgres = connection.isWrapperFor(PGConnection.class);
+            prepareSchema(connection, postgres);
+            
+            load(connection, "users", this::writeUsers);
+            load(connection, "departments", this::writeDepartments);
+            load(connection, "semesters", this::writeSemesters);
+            load(connection, "lecturers", this::writeLecturers);
+            load(connection, "students", loader -> writeStudents(loader, random.split()));
+            load(connection, "courses", loader -> writeCourses(loader, random.split()));
+            load(connection, "allocations", loader -> writeAllocations(loader, random.split()));
+            updateCourseCounters(connection);
+            
+            for (String table : new String[] {"users", "departments", "semesters", "lecturers", "students",
+                    "courses", "allocations"}) {
+                moveSequencePastData(connection, table);
+            }
+            connection.commit();
+        }
+        
+        logger.info("Synthetic data set (seed {}) loaded in {} s", seed, (System.nanoTime() - start) / 1_000_000_000);
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+    
+    // ==================== Tables ====================
+    
+    private void writeUsers(BulkLoader loader) throws SQLException {
+        LocalDateTime created = establishedAt;
+        loader.add(1L, "admin@drakasas.com", "admin", passwordEncoder.encode(adminPassword), "System", "Admin",
+                Role.ADMIN, true, true, true, true, created, created);
+        
+        String hash = passwordEncoder.encode(password);
+        for (int i = 1; i <= lecturers; i++) {
+            boolean hod = i <= departments;
+            String username = hod ? "hod." + departmentCode(i).toLowerCase() : "lecturer" + i;
+            loader.add(lecturerUserId(i), username + "@drakasas.com", username, hash, firstName(i), lastName(i),
+                    hod ? Role.HOD : Role.LECTURER, true, true, true, true, created, created);
+        }
+        for (int i = 1; i <= students; i++) {
+            String username = "student" + i;
+            loader.add(studentUserId(i), username + "@students.drakasas.com", username, hash,
+                    firstName(i * 7), lastName(i * 13), Role.STUDENT, true, true, true, true, created, created);
+        }
+    }
+    
+    private void writeDepartments(BulkLoader loader) throws SQLException {
+        LocalDateTime created = establishedAt;
+        for (int d = 1; d <= departments; d++) {
+            loader.add((long) d, departmentName(d), departmentCode(d), "Department of " + departmentName(d),
+                    lecturerUserId(d), created, created);
+        }
+    }
+    
+    private void writeSemesters(BulkLoader loader) throws SQLException {
+        for (int s = 1; s <= semesters; s++) {
+            int startYear = firstYear + (s - 1) / 2;
+            boolean first = (s - 1) % 2 == 0;
+            LocalDate startDate = semesterStart(s);
+            LocalDate endDate = first ? LocalDate.of(startYear, 12, 20) : LocalDate.of(startYear + 1, 5, 31);
+            String name = (first ? "First Semester " : "Second Semester ") + startYear + "/" + (startYear + 1);
+            LocalDateTime created = startDate.minusMonths(2).atStartOfDay();
+            loader.add((long) s, name, first ? SemesterType.FIRST_SEMESTER : SemesterType.SECOND_SEMESTER,
+                    startDate.getYear(), startDate, endDate, s == semesters, created, created);
+        }
+    }
+    
+    private void writeLecturers(BulkLoader loader) throws SQLException {
+        LocalDateTime created = establishedAt;
+        for (int i = 1; i <= lecturers; i++) {
+            boolean hod = i <= departments;
+            String employeeId = hod ? String.format("HOD%03d", i) : String.format("LEC%05d", i);
+            loader.add((long) i, lecturerUserId(i), employeeId, (long) lecturerDepartment(i),
+                    departmentName(lecturerDepartment(i)), "Block " + (char) ('A' + i % 8) + ", Room " + (100 + i % 300),
+                    created, created);
+        }
+    }
+    
+    private void writeStudents(BulkLoader loader, SplittableRandom random) throws SQLException {
+        studentGpa = new double[students + 1];
+        boolean firstSemesterActive = (semesters - 1) % 2 == 0;
+        int lastIntakeYear = firstYear + (semesters - 1) / 2;
+        for (int i = 1; i <= students; i++) {
+            double gpa = Math.max(0.0, Math.min(4.0, 2.9 + random.nextGaussian() * 0.55));
+            studentGpa[i] = Math.round(gpa * 100) / 100.0;
+            int yearOfStudy = 1 + random.nextInt(4);
+            int intakeYear = lastIntakeYear - yearOfStudy + 1;
+            LocalDateTime created = LocalDate.of(intakeYear, 8, 15).atStartOfDay();
+            loader.add((long) i, studentUserId(i), String.format("STU%d%06d", intakeYear, i),
+                    (long) (1 + random.nextInt(departments)), studentGpa[i],
+                    (yearOfStudy - 1) * 2 + (firstSemesterActive ? 1 : 2), yearOfStudy, created, created);
+        }
+    }
+    
+    private void writeCourses(BulkLoader loader, SplittableRandom random) throws SQLException {
+        courseSemester = new int[courses + 1];
+        courseMinimumGpa = new double[courses + 1];
+        courseCapacity = new int[courses + 1];
+        courseEnrollment = new int[courses + 1];
+        courseWaitlistTail = new int[courses + 1];
+        for (int c = 1; c <= courses; c++) {
+            int semester = (c - 1) % semesters + 1;
+            int department = (c - 1) / semesters % departments + 1;
+            int lecturersInDepartment = (lecturers - department) / departments + 1;
+            long lecturer = department + (long) random.nextInt(lecturersInDepartment) * departments;
+            courseSemester[c] = semester;
+            courseMinimumGpa[c] = MINIMUM_GPAS[pick(random, MINIMUM_GPA_WEIGHTS)];
+            courseCapacity[c] = 30 + 10 * random.nextInt(18);
+            LocalDateTime created = semesterStart(semester).minusMonths(1).atStartOfDay();
+            // Seat and waitlist counters are set once the allocations are known
+            loader.add((long) c, departmentCode(department) + (100 + c), departmentName(department) + " " + c,
+                    null, 1 + random.nextInt(4), (long) department, (long) semester, lecturer,
+                    courseMinimumGpa[c], courseCapacity[c], 0, 1L, 0L, true, created, created);
+        }
+    }
+    
+    /**
+     * Each student asks for a spread of courses drawn by popularity. Past semesters are
+     * settled (approved, denied or dropped); the active one also has pending requests and
+     * waitlists on the courses that are full.
+     */
+    private void writeAllocations(BulkLoader loader, SplittableRandom random) throws SQLException {
+        int[] popularity = new int[courses];
+        for (int c = 0; c < courses; c++) {
+            popularity[c] = c + 1;
+        }
+        for (int c = courses - 1; c > 0; c--) {
+            int other = random.nextInt(c + 1);
+            int swap = popularity[c];
+            popularity[c] = popularity[other];
+            popularity[other] = swap;
+        }
+        ZipfSampler sampler = new ZipfSampler(courses, zipfExponent);
+        
+        int mean = Math.max(1, allocations / students);
+        int[] chosen = new int[2 * mean + 1];
+        long id = 0;
+        for (int student = 1; student <= students; student++) {
+            int wanted = Math.min(courses, mean / 2 + random.nextInt(mean + 1));
+            int count = 0;
+            for (int attempt = 0; count < wanted && attempt < wanted * 4; attempt++) {
+                int course = popularity[sampler.sample(random)];
+                if (studentGpa[student] < courseMinimumGpa[course] || contains(chosen, count, course)) {
+                    continue;
+                }
+                chosen[count++] = course;
+                writeAllocation(loader, ++id, student, course, random);
+            }
+        }
+    }
+    
+    private void writeAllocation(BulkLoader loader, long id, int student, int course, SplittableRandom random)
+            throws SQLException {
+        boolean active = courseSemester[course] == semesters;
+        boolean full = courseEnrollment[course] >= courseCapacity[course];
+        LocalDateTime created = semesterStart(courseSemester[course]).minusDays(14).atStartOfDay()
+                .plusMinutes(random.nextInt(20 * 24 * 60));
+        LocalDateTime processed = created.plusMinutes(60 + random.nextInt(72 * 60));
+        double roll = random.nextDouble();
+        
+        AllocationStatus status;
+        if (full) {
+            status = active ? AllocationStatus.WAITLISTED : AllocationStatus.DENIED;
+        } else if (active && roll < 0.35) {
+            status = AllocationStatus.PENDING;
+        } else if (roll < 0.80) {
+            status = AllocationStatus.APPROVED;
+        } else if (roll < 0.92) {
+            status = AllocationStatus.DENIED;
+        } else {
+            status = AllocationStatus.DROPPED;
+        }
+        
+        Long waitlistSequence = null;
+        String lecturerComment = null;
+        LocalDateTime approvedAt = null;
+        LocalDateTime deniedAt = null;
+        LocalDateTime droppedAt = null;
+        LocalDateTime updated = created;
+        switch (status) {
+            case APPROVED -> {
+                courseEnrollment[course]++;
+                approvedAt = processed;
+                updated = processed;
+            }
+            case DENIED -> {
+                lecturerComment = full ? "Course is full" : "Prerequisites not met";
+                deniedAt = processed;
+                updated = processed;
+            }
+            case DROPPED -> {
+                approvedAt = processed;
+                droppedAt = processed.plusDays(1 + random.nextInt(21));
+                updated = droppedAt;
+            }
+            case WAITLISTED -> waitlistSequence = (long) ++courseWaitlistTail[course];
+            default -> {
+            }
+        }
+        loader.add(id, (long) student, (long) course, status, waitlistSequence, null, lecturerComment,
+                approvedAt, deniedAt, droppedAt, created, updated);
+    }
+    
+    private void updateCourseCounters(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE courses SET current_enrollment = ?, waitlist_tail = ? WHERE id = ?")) {
+            for (int c = 1; c <= courses; c++) {
+                if (courseEnrollment[c] == 0 && courseWaitlistTail[c] == 0) {
+                    continue;
+                }
+                statement.setInt(1, courseEnrollment[c]);
+                statement.setLong(2, courseWaitlistTail[c]);
+                statement.setLong(3, c);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+    
+    // ==================== Schema ====================
+    
+    private interface TableWriter {
+        void write(BulkLoader loader) throws SQLException;
+    }
+    
+    private void load(Connection connection, String table, TableWriter writer) throws SQLException {
+        long start = System.nanoTime();
+        long rows;
+        try (BulkLoader loader = BulkLoader.open(connection, table, columns(table))) {
+            writer.write(loader);
+            rows = loader.rows();
+        }
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Loaded {} rows into {} in {} ms ({} rows/s)", rows, table, millis, rows * 1000 / millis);
+    }
+    
+    private static String[] columns(String table) {
+        return switch (table) {
+            case "users" -> new String[] {"id", "email", "username", "password", "first_name", "last_name", "role",
+                    "enabled", "account_non_expired", "account_non_locked", "credentials_non_expired",
+                    "created_at", "updated_at"};
+            case "departments" -> new String[] {"id", "name", "code", "description", "hod_id",
+                    "created_at", "updated_at"};
+            case "semesters" -> new String[] {"id", "name", "type", "year", "start_date", "end_date", "is_active",
+                    "created_at", "updated_at"};
+            case "lecturers" -> new String[] {"id", "user_id", "employee_id", "department_id", "specialization",
+                    "office_location", "created_at", "updated_at"};
+            case "students" -> new String[] {"id", "user_id", "student_id", "department_id", "gpa",
+                    "current_semester", "year_of_study", "created_at", "updated_at"};
+            case "courses" -> new String[] {"id", "course_code", "course_name", "description", "credits",
+                    "department_id", "semester_id", "lecturer_id", "minimum_gpa", "max_capacity",
+                    "current_enrollment", "waitlist_head", "waitlist_tail", "is_active", "created_at", "updated_at"};
+            case "allocations" -> new String[] {"id", "student_id", "course_id", "status", "waitlist_sequence",
+                    "student_comment", "lecturer_comment", "approved_at", "denied_at", "dropped_at",
+                    "created_at", "updated_at"};
+            default -> throw new IllegalArgumentException(table);
+        };
+    }
+    
+    /**
+     * Require empty tables, or empty them when datagen.reset is set.
+     */
+    private void prepareSchema(Connection connection, boolean postgres) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (reset) {
+                if (postgres) {
+                    statement.execute("TRUNCATE TABLE allocations, courses, students, lecturers, departments, "
+                            + "semesters, token_revocations, users");
+                } else {
+                    for (String table : new String[] {"allocations", "courses", "students", "lecturers",
+                            "departments", "semesters", "token_revocations", "users"}) {
+                        statement.execute("DELETE FROM " + table);
+                    }
+                }
+                logger.info("Existing data removed (datagen.reset=true)");
+                return;
+            }
+            try (ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+                result.next();
+                if (result.getLong(1) > 0) {
+                    throw new IllegalStateException(
+                            "The database already contains users; start from an empty schema or set datagen.reset=true");
+                }
+            }
+        }
+    }
+    
+    /**
+     * Restart the table's id sequence so the next pooled block (nextval - 49 .. nextval) starts
+     * right after the generated ids.
+     */
+    private void moveSequencePastData(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long next;
+            try (ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 50 FROM " + table)) {
+                result.next();
+                next = result.getLong(1);
+            }
+            statement.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + next);
+        }
+    }
+    
+    // ==================== Helpers ====================
+    
+    /** Lecturer user ids follow the admin; the first lecturer of each department is its HOD. */
+    private long lecturerUserId(int lecturer) {
+        return 1L + lecturer;
+    }
+    
+    private long studentUserId(int student) {
+        return 1L + lecturers + student;
+    }
+    
+    private int lecturerDepartment(int lecturer) {
+        return (lecturer - 1) % departments + 1;
+    }
+    
+    private String departmentName(int department) {
+        String name = DEPARTMENTS[(department - 1) % DEPARTMENTS.length][0];
+        int round = (department - 1) / DEPARTMENTS.length;
+        return round == 0 ? name : name + " " + (round + 1);
+    }
+    
+    private String departmentCode(int department) {
+        String code = DEPARTMENTS[(department - 1) % DEPARTMENTS.length][1];
+        int round = (department - 1) / DEPARTMENTS.length;
+        return round == 0 ? code : code + (round + 1);
+    }
+    
+    private LocalDate semesterStart(int semester) {
+        int startYear = firstYear + (semester - 1) / 2;
+        return (semester - 1) % 2 == 0 ? LocalDate.of(startYear, 9, 1) : LocalDate.of(startYear + 1, 1, 15);
+    }
+    
+    private static String firstName(int seed) {
+        return FIRST_NAMES[seed % FIRST_NAMES.length];
+    }
+    
+    private static String lastName(int seed) {
+        return LAST_NAMES[(seed / FIRST_NAMES.length) % LAST_NAMES.length];
+    }
+    
+    private static int pick(SplittableRandom random, double[] cumulativeWeights) {
+        double roll = random.nextDouble();
+        int index = 0;
+        while (roll >= cumulativeWeights[index]) {
+            index++;
+        }
+        return index;
+    }
+    
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
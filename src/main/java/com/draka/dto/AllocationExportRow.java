@@ -0,0 +1,32 @@
+package com.draka.dto;
+
+import com.draka.enums.AllocationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat allocation row for registrar exports.
+ * Built directly by a JPQL constructor expression so no entities are loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationExportRow {
+    
+    private Long allocationId;
+    private AllocationStatus status;
+    private String studentNumber;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Double gpa;
+    private String courseCode;
+    private String courseName;
+    private String departmentCode;
+    private String semesterName;
+    private LocalDateTime requestedAt;
+    private LocalDateTime approvedAt;
+}
@@ -0,0 +1,16 @@
+package com.draka.dto;
+
+import com.draka.enums.AllocationStatus;
+
+/**
+ * Lightweight projection of an allocation's status and course, used to validate
+ * bulk operations without loading the allocation entity graph.
+ */
+public interface AllocationStatusView {
+    
+    Long getId();
+    
+    Long getCourseId();
+    
+    AllocationStatus getStatus();
+}
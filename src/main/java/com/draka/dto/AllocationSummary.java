@@ -0,0 +1,52 @@
+package com.draka.dto;
+
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.draka.entity.Student;
+import com.draka.entity.User;
+import com.draka.enums.AllocationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Allocation as listed to students and lecturers, with the course and student flattened in.
+ * Selected column by column in AllocationRepository, so no entity graph is loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationSummary {
+    
+    private Long id;
+    private AllocationStatus status;
+    private Long courseId;
+    private String courseCode;
+    private String courseName;
+    private Long studentId;
+    private String studentNumber; // e.g., "STU2024001"
+    private String studentName;
+    private Double studentGpa;
+    private String studentComment;
+    private String lecturerComment;
+    private LocalDateTime createdAt;
+    private LocalDateTime approvedAt;
+    private LocalDateTime deniedAt;
+    private LocalDateTime droppedAt;
+    
+    /**
+     * Summarize a managed allocation; must be called while its session is still open.
+     */
+    public static AllocationSummary from(Allocation allocation) {
+        Course course = allocation.getCourse();
+        Student student = allocation.getStudent();
+        User user = student.getUser();
+        return new AllocationSummary(allocation.getId(), allocation.getStatus(), course.getId(),
+                course.getCourseCode(), course.getCourseName(), student.getId(), student.getStudentId(),
+                user.getFirstName() + " " + user.getLastName(), student.getGpa(),
+                allocation.getStudentComment(), allocation.getLecturerComment(), allocation.getCreatedAt(),
+                allocation.getApprovedAt(), allocation.getDeniedAt(), allocation.getDroppedAt());
+    }
+}
@@ -0,0 +1,23 @@
+package com.draka.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for lecturer to approve/deny many enrollment requests at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkApprovalRequest {
+    
+    @NotEmpty(message = "At least one request is required")
+    @Size(max = 1000, message = "Cannot process more than 1000 requests at once")
+    private List<@Valid ApprovalRequest> requests;
+}
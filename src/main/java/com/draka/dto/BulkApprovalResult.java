@@ -0,0 +1,20 @@
+package com.draka.dto;
+
+import com.draka.enums.AllocationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-item outcome of a bulk approve/deny operation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkApprovalResult {
+    
+    private Long allocationId;
+    private Boolean success;
+    private AllocationStatus status; // Resulting status when successful
+    private String message; // Reason when unsuccessful
+}
@@ -0,0 +1,37 @@
+package com.draka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for Hibernate second-level and query cache statistics.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics {
+    
+    private Boolean enabled;
+    private Long hits;
+    private Long misses;
+    private Long puts;
+    private Long queryCacheHits;
+    private Long queryCacheMisses;
+    private Long queryCachePuts;
+    private List<Region> regions;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        
+        private String name;
+        private Long hits;
+        private Long misses;
+        private Long puts;
+        private Long entries; // -1 when the cache provider does not report it
+    }
+}
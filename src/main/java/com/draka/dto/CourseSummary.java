@@ -0,0 +1,29 @@
+package com.draka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Course as listed to students and lecturers.
+ * Selected column by column in CourseRepository, so no entity graph is loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSummary {
+    
+    private Long id;
+    private String courseCode;
+    private String courseName;
+    private String description;
+    private Integer credits;
+    private Double minimumGpa;
+    private Integer maxCapacity;
+    private Integer currentEnrollment;
+    private Boolean isActive;
+    private String departmentCode;
+    private String semesterName;
+    private Long lecturerId; // null if no lecturer assigned yet
+    private String lecturerName;
+}
@@ -0,0 +1,63 @@
+package com.draka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) paginated list, ordered by id.
+ * Pass nextCursor back as the cursor parameter to fetch the following page;
+ * it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+    
+    private List<T> items;
+    private Integer size;
+    private Long nextCursor;
+    
+    /**
+     * Clamp a requested page size to [1, MAX_SIZE].
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+    
+    /**
+     * Id to continue after: everything when no cursor was given.
+     */
+    public static long after(Long cursor) {
+        return cursor == null ? 0L : cursor;
+    }
+    
+    /**
+     * Query limit for a page: one extra row tells whether another page exists.
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+    
+    /**
+     * Build a page from rows fetched with {@link #limit(int)}.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, rows.size(), null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(items, size, idOf.apply(items.get(size - 1)));
+    }
+}
@@ -0,0 +1,26 @@
+package com.draka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Department with headcounts, as shown on the admin department screens.
+ * Counts are computed by one aggregate query in DepartmentRepository.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentSummary {
+    
+    private Long id;
+    private String name;
+    private String code;
+    private String description;
+    private Long hodId; // null if no HOD assigned
+    private String hodName;
+    private Long studentCount;
+    private Long lecturerCount;
+    private Long courseCount;
+    private Long activeEnrollments; // Approved seats in courses of the active semester
+}
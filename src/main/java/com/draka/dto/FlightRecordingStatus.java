@@ -0,0 +1,23 @@
+package com.draka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for the state of the on-demand flight recording.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightRecordingStatus {
+    
+    private Long id;
+    private String state; // NEW, RUNNING, STOPPED or CLOSED; null when nothing was recorded yet
+    private String settings;
+    private Instant startTime;
+    private Instant stopTime;
+    private Long sizeBytes;
+}
@@ -0,0 +1,21 @@
+package com.draka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the hit/miss statistics of an in-process lookup cache.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocalCacheStatistics {
+    
+    private String name;
+    private Long size;
+    private Long hits;
+    private Long misses;
+    private Double hitRate;
+    private Long evictions;
+}
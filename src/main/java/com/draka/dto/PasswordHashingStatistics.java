@@ -0,0 +1,24 @@
+package com.draka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the password hashing pool's load and timing statistics.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordHashingStatistics {
+    
+    private Integer strength;
+    private Integer threads;
+    private Integer activeThreads;
+    private Integer queueDepth;
+    private Integer queueCapacity;
+    private Long completed;
+    private Long rejected;
+    private Double averageHashMillis;
+    private Double averageWaitMillis;
+}
@@ -0,0 +1,18 @@
+package com.draka.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for revoking a single access token.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokeTokenRequest {
+    
+    @NotBlank(message = "Token is required")
+    private String token;
+}
@@ -0,0 +1,18 @@
+package com.draka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A CSV row that was not imported, and why.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportError {
+    
+    private Long line; // Line number in the CSV (the header is line 1)
+    private String username; // As given in the row, if any
+    private String message;
+}
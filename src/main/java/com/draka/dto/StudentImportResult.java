@@ -0,0 +1,22 @@
+package com.draka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a CSV student import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportResult {
+    
+    private Integer totalRows;
+    private Integer imported;
+    private Integer failed;
+    private Long durationMillis;
+    private List<StudentImportError> errors; // One entry per failed row, in file order
+}
@@ -0,0 +1,22 @@
+package com.draka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO describing a student's place in the registration waiting room.
+ * Once admitted, the admission token must be sent in the X-Admission-Token header
+ * when calling the enrollment endpoints.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoomStatus {
+    
+    private Boolean admitted;
+    private Long position; // 1 = next to be admitted, null once admitted
+    private Long estimatedWaitSeconds;
+    private String admissionToken;
+    private Long tokenExpiresInSeconds;
+}
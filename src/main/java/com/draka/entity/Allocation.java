@@ -17,21 +17,28 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "allocations", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id"}),
+       indexes = {
+           @Index(name = "idx_allocations_course_waitlist", columnList = "course_id, waitlist_sequence"),
+           @Index(name = "idx_allocations_course_status_id", columnList = "course_id, status, id"),
+           @Index(name = "idx_allocations_student_status", columnList = "student_id, status"),
+           @Index(name = "idx_allocations_status_id", columnList = "status, id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Allocation {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "allocations_seq")
+    @SequenceGenerator(name = "allocations_seq", sequenceName = "allocations_seq", allocationSize = 50)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
     
@@ -39,6 +46,9 @@ public class Allocation {
     @Column(nullable = false, length = 20)
     private AllocationStatus status = AllocationStatus.PENDING;
     
+    @Column
+    private Long waitlistSequence; // Order in the course waitlist, set when WAITLISTED
+    
     @Column(length = 500)
     private String studentComment; // Optional comment from student when enrolling
     
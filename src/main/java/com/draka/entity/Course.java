@@ -1,10 +1,14 @@
 package com.draka.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,14 +22,22 @@ import java.util.List;
  * and can have multiple student allocations.
  */
 @Entity
-@Table(name = "courses")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cache(region = "course", usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "courses",
+       indexes = {
+           @Index(name = "idx_courses_semester_id", columnList = "semester_id, id"),
+           @Index(name = "idx_courses_department_id", columnList = "department_id, id"),
+           @Index(name = "idx_courses_lecturer_id", columnList = "lecturer_id, id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Course {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 20)
@@ -40,15 +52,15 @@ public class Course {
     @Column(nullable = false)
     private Integer credits = 3; // Credit hours
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id", nullable = false)
     private Department department;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "semester_id", nullable = false)
     private Semester semester;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "lecturer_id")
     private Lecturer lecturer; // Can be null if no lecturer assigned yet
     
@@ -58,9 +70,23 @@ public class Course {
     @Column(nullable = false)
     private Integer maxCapacity = 50; // Maximum number of students
     
-    @Column(nullable = false)
+    // Maintained only by CourseRepository.claimSeat/releaseSeat, never by entity updates,
+    // so a stale Course saved elsewhere cannot overwrite concurrent seat changes.
+    @Column(nullable = false, updatable = false)
     private Integer currentEnrollment = 0; // Current number of enrolled students
     
+    // Waitlist counters, maintained only by CourseRepository bulk updates.
+    // Entries hold sequences waitlistHead..waitlistTail; a student's position is sequence - head + 1.
+    @JsonIgnore
+    @ColumnDefault("1")
+    @Column(nullable = false, updatable = false)
+    private Long waitlistHead = 1L; // Sequence of the next waitlisted request to promote
+    
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long waitlistTail = 0L; // Sequence of the last waitlisted request
+    
     @Column(nullable = false)
     private Boolean isActive = true; // Whether course is accepting enrollments
     
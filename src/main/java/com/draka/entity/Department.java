@@ -1,9 +1,13 @@
 package com.draka.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,6 +20,8 @@ import java.util.List;
  * Each department has one HOD (Head of Department) and multiple students, lecturers, and courses.
  */
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cache(region = "department", usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "departments")
 @Data
 @NoArgsConstructor
@@ -23,7 +29,8 @@ import java.util.List;
 public class Department {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departments_seq")
+    @SequenceGenerator(name = "departments_seq", sequenceName = "departments_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true, length = 100)
@@ -36,19 +43,22 @@ public class Department {
     private String description;
     
     // One Department has one HOD (Head of Department)
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hod_id")
     private User hod;
     
     // One Department has many Students
+    @JsonIgnore
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL)
     private List<Student> students = new ArrayList<>();
     
     // One Department has many Lecturers
+    @JsonIgnore
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL)
     private List<Lecturer> lecturers = new ArrayList<>();
     
     // One Department has many Courses
+    @JsonIgnore
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL)
     private List<Course> courses = new ArrayList<>();
     
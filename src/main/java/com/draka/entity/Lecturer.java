@@ -1,10 +1,13 @@
 package com.draka.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,24 +20,28 @@ import java.util.List;
  * Lecturers belong to a department and can teach multiple courses.
  */
 @Entity
-@Table(name = "lecturers")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cache(region = "lecturer", usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "lecturers",
+       indexes = @Index(name = "idx_lecturers_department_id", columnList = "department_id, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Lecturer {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lecturers_seq")
+    @SequenceGenerator(name = "lecturers_seq", sequenceName = "lecturers_seq", allocationSize = 50)
     private Long id;
     
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
     
     @Column(nullable = false, unique = true, length = 20)
     private String employeeId; // e.g., "LEC2024001"
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id", nullable = false)
     private Department department;
     
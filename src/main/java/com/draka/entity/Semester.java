@@ -1,10 +1,14 @@
 package com.draka.entity;
 
 import com.draka.enums.SemesterType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -18,6 +22,8 @@ import java.util.List;
  * Semesters contain courses offered during that period.
  */
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cache(region = "semester", usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "semesters")
 @Data
 @NoArgsConstructor
@@ -25,7 +31,8 @@ import java.util.List;
 public class Semester {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "semesters_seq")
+    @SequenceGenerator(name = "semesters_seq", sequenceName = "semesters_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 50)
@@ -47,6 +54,7 @@ public class Semester {
     @Column(nullable = false)
     private Boolean isActive = false; // Only one semester should be active at a time
     
+    @JsonIgnore
     @OneToMany(mappedBy = "semester", cascade = CascadeType.ALL)
     private List<Course> courses = new ArrayList<>();
     
@@ -1,6 +1,7 @@
 package com.draka.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,24 +18,27 @@ import java.util.List;
  * Students belong to a department and can enroll in multiple courses.
  */
 @Entity
-@Table(name = "students")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "students",
+       indexes = @Index(name = "idx_students_department_id", columnList = "department_id, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = 50)
     private Long id;
     
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
     
     @Column(nullable = false, unique = true, length = 20)
     private String studentId; // e.g., "STU2024001"
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id", nullable = false)
     private Department department;
     
@@ -0,0 +1,43 @@
+package com.draka.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a revoked access token, or all of a user's tokens issued before a cutoff.
+ * Rows are only needed until the tokens they cover would have expired anyway.
+ */
+@Entity
+@Table(name = "token_revocations",
+       indexes = @Index(name = "idx_token_revocations_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_revocations_seq")
+    @SequenceGenerator(name = "token_revocations_seq", sequenceName = "token_revocations_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(length = 64)
+    private String jti; // Token id, set when a single token is revoked
+    
+    @Column(nullable = false, length = 50)
+    private String username;
+    
+    @Column
+    private LocalDateTime revokedBefore; // Set when all of the user's tokens issued before this are revoked
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt; // When the covered tokens expire and the row can be purged
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -7,5 +7,6 @@ public enum AllocationStatus {
     PENDING,    // Student has requested enrollment, awaiting lecturer approval
     APPROVED,   // Lecturer has approved the enrollment
     DENIED,     // Lecturer has denied the enrollment
-    DROPPED     // Student has dropped the course
+    DROPPED,    // Student has dropped the course
+    WAITLISTED  // Course was full; promoted to PENDING in order when a seat frees up
 }
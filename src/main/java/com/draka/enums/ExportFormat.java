@@ -0,0 +1,9 @@
+package com.draka.enums;
+
+/**
+ * Enum representing the file formats supported by registrar exports.
+ */
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
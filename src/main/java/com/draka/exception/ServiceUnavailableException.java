@@ -0,0 +1,18 @@
+package com.draka.exception;
+
+/**
+ * Exception thrown when the system is temporarily overloaded and the client should retry later.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,136 @@
+package com.draka.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Business counters for the enrollment funnel.
+ *
+ * Requests and rejections count attempts as they happen. Outcomes (waitlisted, approved,
+ * denied, dropped) change data, so they are only counted once their transaction commits.
+ * All counters are created up front so recording is a single increment.
+ * A retry of work whose attempts were already counted runs inside {@link #recounting}.
+ */
+@Component
+public class EnrollmentMetrics {
+    
+    public static final String REASON_DUPLICATE = "duplicate";
+    
+    public static final String REASON_COURSE_INACTIVE = "course_inactive";
+    
+    public static final String REASON_NO_LECTURER = "no_lecturer";
+    
+    public static final String REASON_GPA = "gpa";
+    
+    private static final ThreadLocal<Boolean> RECOUNTING = ThreadLocal.withInitial(() -> false);
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Counter requested;
+    
+    private Map<String, Counter> rejected;
+    
+    private Counter waitlisted;
+    
+    private Counter approved;
+    
+    private Counter denied;
+    
+    private Counter dropped;
+    
+    @PostConstruct
+    void init() {
+        requested = Counter.builder("enrollment.requests")
+                .description("Enrollment requests submitted by students")
+                .register(meterRegistry);
+        rejected = Map.of(
+                REASON_DUPLICATE, rejection(REASON_DUPLICATE),
+                REASON_COURSE_INACTIVE, rejection(REASON_COURSE_INACTIVE),
+                REASON_NO_LECTURER, rejection(REASON_NO_LECTURER),
+                REASON_GPA, rejection(REASON_GPA));
+        waitlisted = outcome("waitlisted");
+        approved = outcome("approved");
+        denied = outcome("denied");
+        dropped = outcome("dropped");
+    }
+    
+    public void requested() {
+        if (!RECOUNTING.get()) {
+            requested.increment();
+        }
+    }
+    
+    public void rejected(String reason) {
+        if (!RECOUNTING.get()) {
+            rejected.get(reason).increment();
+        }
+    }
+    
+    /**
+     * Run a retry of an attempt whose requests and rejections were already counted, without
+     * counting them again. Outcomes still count, since the rolled-back attempt never committed.
+     */
+    public <T> T recounting(Supplier<T> retry) {
+        RECOUNTING.set(true);
+        try {
+            return retry.get();
+        } finally {
+            RECOUNTING.remove();
+        }
+    }
+    
+    public void waitlisted() {
+        afterCommit(waitlisted, 1);
+    }
+    
+    public void approved(int count) {
+        afterCommit(approved, count);
+    }
+    
+    public void denied(int count) {
+        afterCommit(denied, count);
+    }
+    
+    public void dropped() {
+        afterCommit(dropped, 1);
+    }
+    
+    private void afterCommit(Counter counter, int count) {
+        if (count == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.increment(count);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.increment(count);
+            }
+        });
+    }
+    
+    private Counter rejection(String reason) {
+        return Counter.builder("enrollment.rejections")
+                .description("Enrollment requests rejected by business rules")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+    
+    private Counter outcome(String outcome) {
+        return Counter.builder("enrollment.outcomes")
+                .description("Enrollment state changes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
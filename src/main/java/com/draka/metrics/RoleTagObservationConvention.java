@@ -0,0 +1,28 @@
+package com.draka.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the caller's role to the {@code http.server.requests} metrics.
+ *
+ * The security context is already cleared when the request observation stops, so the JWT
+ * filter records the role as a request attribute instead.
+ */
+@Component
+public class RoleTagObservationConvention extends DefaultServerRequestObservationConvention {
+    
+    public static final String ROLE_ATTRIBUTE = RoleTagObservationConvention.class.getName() + ".role";
+    
+    private static final KeyValue ANONYMOUS = KeyValue.of("role", "ANONYMOUS");
+    
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        Object role = context.getCarrier().getAttribute(ROLE_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context)
+                .and(role != null ? KeyValue.of("role", role.toString()) : ANONYMOUS);
+    }
+}
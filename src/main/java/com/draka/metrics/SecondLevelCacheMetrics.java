@@ -0,0 +1,77 @@
+package com.draka.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hibernate second-level and query cache counters, overall and per region, read from the
+ * session factory statistics on each scrape (hibernate.generate_statistics must be on).
+ * The admin cache reset clears the statistics, which monitoring sees as a counter reset.
+ */
+@Component
+public class SecondLevelCacheMetrics {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @PostConstruct
+    void init() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        counter("hibernate.second.level.cache.requests", "result", "hit", statistics,
+                Statistics::getSecondLevelCacheHitCount);
+        counter("hibernate.second.level.cache.requests", "result", "miss", statistics,
+                Statistics::getSecondLevelCacheMissCount);
+        counter("hibernate.second.level.cache.puts", null, null, statistics,
+                Statistics::getSecondLevelCachePutCount);
+        counter("hibernate.query.cache.requests", "result", "hit", statistics,
+                Statistics::getQueryCacheHitCount);
+        counter("hibernate.query.cache.requests", "result", "miss", statistics,
+                Statistics::getQueryCacheMissCount);
+        counter("hibernate.query.cache.puts", null, null, statistics,
+                Statistics::getQueryCachePutCount);
+        
+        // Regions are created with the session factory, so the list is complete by now
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            regionCounter("hibernate.second.level.cache.region.requests", region, "hit", statistics,
+                    CacheRegionStatistics::getHitCount);
+            regionCounter("hibernate.second.level.cache.region.requests", region, "miss", statistics,
+                    CacheRegionStatistics::getMissCount);
+            regionCounter("hibernate.second.level.cache.region.puts", region, null, statistics,
+                    CacheRegionStatistics::getPutCount);
+        }
+    }
+    
+    private void counter(String name, String tagKey, String tagValue, Statistics statistics,
+                         ToDoubleFunction<Statistics> count) {
+        FunctionCounter.Builder<Statistics> builder = FunctionCounter.builder(name, statistics, count);
+        if (tagKey != null) {
+            builder.tag(tagKey, tagValue);
+        }
+        builder.register(meterRegistry);
+    }
+    
+    private void regionCounter(String name, String region, String result, Statistics statistics,
+                               ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.Builder<Statistics> builder = FunctionCounter.builder(name, statistics, stats -> {
+            CacheRegionStatistics regionStatistics = stats.getCacheRegionStatistics(region);
+            return regionStatistics != null ? count.applyAsDouble(regionStatistics) : 0;
+        }).tag("region", region);
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        builder.register(meterRegistry);
+    }
+}
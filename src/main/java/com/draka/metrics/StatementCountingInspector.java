@@ -0,0 +1,36 @@
+package com.draka.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared on the current thread.
+ * Registered through {@code hibernate.session_factory.statement_inspector}; the count is read
+ * and reset per request by {@link StatementCountFilter}. The statement itself is not changed.
+ */
+public class StatementCountingInspector implements StatementInspector {
+    
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+    
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+    
+    /**
+     * Number of statements counted on this thread since the last reset.
+     */
+    public static int current() {
+        return COUNT.get()[0];
+    }
+    
+    /**
+     * Return the number of statements counted on this thread and start again from zero.
+     */
+    static int reset() {
+        int[] count = COUNT.get();
+        int value = count[0];
+        count[0] = 0;
+        return value;
+    }
+}
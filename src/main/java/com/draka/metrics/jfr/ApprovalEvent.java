@@ -0,0 +1,35 @@
+package com.draka.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One lecturer approval or denial, excluding the commit.
+ */
+@Name("com.draka.Approval")
+@Label("Enrollment Approval")
+@Category({"Draka", "Enrollment"})
+@Description("Lecturer approval or denial of one enrollment request (commit is a separate event)")
+@StackTrace(false)
+public class ApprovalEvent extends Event {
+    
+    @Label("Allocation Id")
+    public long allocationId;
+    
+    @Label("Course Id")
+    public long courseId;
+    
+    @Label("Requested Status")
+    public String status;
+    
+    @Label("Outcome")
+    @Description("Resulting allocation status, or rejected/error")
+    public String outcome;
+    
+    @Label("SQL Statements")
+    public int sqlCount;
+}
@@ -0,0 +1,29 @@
+package com.draka.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JWT verification and principal lookup for one request.
+ */
+@Name("com.draka.Authentication")
+@Label("JWT Authentication")
+@Category({"Draka", "Security"})
+@Description("Token verification, revocation check and user lookup in the JWT filter")
+@StackTrace(false)
+public class AuthenticationEvent extends Event {
+    
+    @Label("Username")
+    public String username;
+    
+    @Label("Outcome")
+    @Description("authenticated, invalid, revoked, disabled or error")
+    public String outcome;
+    
+    @Label("SQL Statements")
+    public int sqlCount;
+}
@@ -0,0 +1,63 @@
+package com.draka.metrics.jfr;
+
+import com.draka.metrics.StatementCountingInspector;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Records a {@link TransactionCommitEvent} for the current transaction.
+ */
+public final class CommitEvents {
+    
+    private static final Object RESOURCE_KEY = new Object();
+    
+    private CommitEvents() {
+    }
+    
+    /**
+     * Time the flush and commit of the current transaction, once per transaction even when
+     * called for every command of a batch.
+     */
+    public static void recordCommit(String operation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(RESOURCE_KEY)) {
+            return;
+        }
+        TransactionCommitEvent event = new TransactionCommitEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        
+        TransactionSynchronizationManager.bindResource(RESOURCE_KEY, event);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            
+            private int statementsBefore;
+            
+            private boolean started;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                statementsBefore = StatementCountingInspector.current();
+                started = true;
+                event.begin();
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                if (!started) {
+                    // Rolled back before reaching commit
+                    statementsBefore = StatementCountingInspector.current();
+                    event.begin();
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = operation;
+                    event.outcome = status == STATUS_COMMITTED ? "committed" : "rolled_back";
+                    event.sqlCount = StatementCountingInspector.current() - statementsBefore;
+                    event.commit();
+                }
+            }
+        });
+    }
+}
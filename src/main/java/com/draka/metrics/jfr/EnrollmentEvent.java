@@ -0,0 +1,32 @@
+package com.draka.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One student enrollment request, excluding the commit.
+ */
+@Name("com.draka.Enrollment")
+@Label("Enrollment")
+@Category({"Draka", "Enrollment"})
+@Description("Student enrollment request, from lookups to the allocation insert (commit is a separate event)")
+@StackTrace(false)
+public class EnrollmentEvent extends Event {
+    
+    @Label("Student Id")
+    public long studentId;
+    
+    @Label("Course Id")
+    public long courseId;
+    
+    @Label("Outcome")
+    @Description("Resulting allocation status, or rejected/error")
+    public String outcome;
+    
+    @Label("SQL Statements")
+    public int sqlCount;
+}
@@ -0,0 +1,29 @@
+package com.draka.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Enrollment business rule checks.
+ */
+@Name("com.draka.EnrollmentValidation")
+@Label("Enrollment Validation")
+@Category({"Draka", "Enrollment"})
+@Description("Business rule checks for an enrollment request")
+@StackTrace(false)
+public class EnrollmentValidationEvent extends Event {
+    
+    @Label("Course Id")
+    public long courseId;
+    
+    @Label("Outcome")
+    @Description("ok, or the rejection reason")
+    public String outcome;
+    
+    @Label("SQL Statements")
+    public int sqlCount;
+}
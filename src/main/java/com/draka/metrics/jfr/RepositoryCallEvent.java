@@ -0,0 +1,29 @@
+package com.draka.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One Spring Data repository method call.
+ */
+@Name("com.draka.RepositoryCall")
+@Label("Repository Call")
+@Category({"Draka", "Persistence"})
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+    
+    @Label("Repository")
+    public String repository;
+    
+    @Label("Method")
+    public String method;
+    
+    @Label("SQL Statements")
+    public int sqlCount;
+    
+    @Label("Failed")
+    public boolean failed;
+}
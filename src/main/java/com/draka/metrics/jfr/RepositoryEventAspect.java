@@ -0,0 +1,54 @@
+package com.draka.metrics.jfr;
+
+import com.draka.metrics.StatementCountingInspector;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits a {@link RepositoryCallEvent} around every repository method call.
+ * When no recording includes the event, the cost is one enabled check.
+ */
+@Aspect
+@Component
+public class RepositoryEventAspect {
+    
+    // Repository beans are proxies; name them after the application interface they implement
+    private static final ClassValue<String> REPOSITORY_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (candidate.getName().startsWith("com.draka.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        }
+    };
+    
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        
+        int statementsBefore = StatementCountingInspector.current();
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = REPOSITORY_NAMES.get(joinPoint.getThis().getClass());
+                event.method = joinPoint.getSignature().getName();
+                event.sqlCount = StatementCountingInspector.current() - statementsBefore;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.draka.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flush and commit of an enrollment or approval transaction.
+ */
+@Name("com.draka.TransactionCommit")
+@Label("Transaction Commit")
+@Category({"Draka", "Persistence"})
+@Description("Time from the start of the flush to the end of the commit")
+@StackTrace(false)
+public class TransactionCommitEvent extends Event {
+    
+    @Label("Operation")
+    public String operation;
+    
+    @Label("Outcome")
+    @Description("committed or rolled_back")
+    public String outcome;
+    
+    @Label("SQL Statements")
+    @Description("Statements issued by the flush")
+    public int sqlCount;
+}
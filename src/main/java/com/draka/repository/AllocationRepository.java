@@ -1,10 +1,18 @@
 package com.draka.repository;
 
+import com.draka.dto.AllocationStatusView;
 import com.draka.entity.Allocation;
 import com.draka.enums.AllocationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,23 +20,107 @@ import java.util.Optional;
  * Repository for Allocation entity.
  */
 @Repository
-public interface AllocationRepository extends JpaRepository<Allocation, Long> {
+public interface AllocationRepository extends JpaRepository<Allocation, Long>, AllocationRepositoryCustom {
     
-    List<Allocation> findByStudentId(Long studentId);
+    /**
+     * What the admin allocation page serializes, fetched with the page in one query.
+     */
+    List<String> PAGE_GRAPH = List.of(
+            "student", "student.user", "student.department", "student.department.hod",
+            "course", "course.department", "course.department.hod", "course.semester",
+            "course.lecturer", "course.lecturer.user", "course.lecturer.department",
+            "course.lecturer.department.hod");
     
-    List<Allocation> findByCourseId(Long courseId);
+    /**
+     * A student's allocation for a course with everything its JSON response includes.
+     */
+    @EntityGraph(attributePaths = {
+        "student", "student.user", "student.department", "student.department.hod",
+        "course", "course.department", "course.department.hod", "course.semester",
+        "course.lecturer", "course.lecturer.user", "course.lecturer.department", "course.lecturer.department.hod"
+    })
+    Optional<Allocation> findByStudentIdAndCourseId(Long studentId, Long courseId);
     
-    List<Allocation> findByCourseLecturerId(Long lecturerId);
+    /**
+     * An allocation with everything its JSON response includes, in one query.
+     */
+    @EntityGraph(attributePaths = {
+        "student", "student.user", "student.department", "student.department.hod",
+        "course", "course.department", "course.department.hod", "course.semester",
+        "course.lecturer", "course.lecturer.user", "course.lecturer.department", "course.lecturer.department.hod"
+    })
+    Optional<Allocation> findWithDetailsById(Long id);
     
-    List<Allocation> findByStatus(AllocationStatus status);
+    Boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
     
-    List<Allocation> findByStudentIdAndStatus(Long studentId, AllocationStatus status);
+    Long countByCourseIdAndStatus(Long courseId, AllocationStatus status);
     
-    List<Allocation> findByCourseIdAndStatus(Long courseId, AllocationStatus status);
+    @Query("SELECT a.course.id FROM Allocation a WHERE a.id = :id")
+    Optional<Long> findCourseIdById(@Param("id") Long id);
     
-    Optional<Allocation> findByStudentIdAndCourseId(Long studentId, Long courseId);
+    @Query("SELECT a.id AS id, a.course.id AS courseId, a.status AS status " +
+           "FROM Allocation a WHERE a.id IN :ids")
+    List<AllocationStatusView> findStatusViewsByIdIn(@Param("ids") Collection<Long> ids);
     
-    Boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+    /**
+     * Ids of a course's allocations in a given status, best GPA first, then oldest request first.
+     */
+    @Query("SELECT a.id FROM Allocation a WHERE a.course.id = :courseId AND a.status = :status " +
+           "ORDER BY a.student.gpa DESC, a.createdAt ASC, a.id ASC")
+    List<Long> findIdsByCourseIdAndStatusOrderByGpa(
+            @Param("courseId") Long courseId,
+            @Param("status") AllocationStatus status,
+            Pageable pageable);
     
-    Long countByCourseIdAndStatus(Long courseId, AllocationStatus status);
+    /**
+     * Promote the waitlist entry with the given sequence back into the approval queue.
+     */
+    @Modifying
+    @Query("UPDATE Allocation a SET a.status = :promotedStatus, a.updatedAt = :now " +
+           "WHERE a.course.id = :courseId AND a.waitlistSequence = :sequence AND a.status = :waitlistedStatus")
+    int promoteWaitlistEntry(
+            @Param("courseId") Long courseId,
+            @Param("sequence") Long sequence,
+            @Param("waitlistedStatus") AllocationStatus waitlistedStatus,
+            @Param("promotedStatus") AllocationStatus promotedStatus,
+            @Param("now") LocalDateTime now);
+    
+    /**
+     * Approve or deny a pending allocation; exactly one of the two timestamps is set.
+     * The status guard makes the update count report whether it was still pending.
+     */
+    @Modifying
+    @Query("UPDATE Allocation a SET a.status = :status, a.lecturerComment = :comment, " +
+           "a.approvedAt = :approvedAt, a.deniedAt = :deniedAt, a.updatedAt = :now " +
+           "WHERE a.id = :id AND a.status = :pendingStatus")
+    int decidePending(
+            @Param("id") Long id,
+            @Param("pendingStatus") AllocationStatus pendingStatus,
+            @Param("status") AllocationStatus status,
+            @Param("comment") String comment,
+            @Param("approvedAt") LocalDateTime approvedAt,
+            @Param("deniedAt") LocalDateTime deniedAt,
+            @Param("now") LocalDateTime now);
+    
+    /**
+     * Drop an approved allocation; the update count reports whether it was still approved.
+     */
+    @Modifying
+    @Query("UPDATE Allocation a SET a.status = :droppedStatus, a.droppedAt = :now, a.updatedAt = :now " +
+           "WHERE a.id = :id AND a.status = :approvedStatus")
+    int dropApproved(
+            @Param("id") Long id,
+            @Param("approvedStatus") AllocationStatus approvedStatus,
+            @Param("droppedStatus") AllocationStatus droppedStatus,
+            @Param("now") LocalDateTime now);
+    
+    /**
+     * 1-based waitlist position, computed from the course's head sequence via the (student, course) unique index.
+     */
+    @Query("SELECT a.waitlistSequence - c.waitlistHead + 1 FROM Allocation a JOIN a.course c " +
+           "WHERE a.student.id = :studentId AND c.id = :courseId AND a.status = :status")
+    Optional<Long> findWaitlistPosition(
+            @Param("studentId") Long studentId,
+            @Param("courseId") Long courseId,
+            @Param("status") AllocationStatus status);
 }
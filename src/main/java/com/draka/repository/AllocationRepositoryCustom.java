@@ -0,0 +1,39 @@
+package com.draka.repository;
+
+import com.draka.dto.AllocationExportRow;
+import com.draka.dto.AllocationSummary;
+import com.draka.entity.Allocation;
+import com.draka.enums.AllocationStatus;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Allocation queries whose WHERE clause depends on which filters are given.
+ */
+public interface AllocationRepositoryCustom {
+    
+    /**
+     * Keyset page of allocations with {@link AllocationRepository#PAGE_GRAPH}; null filters are ignored.
+     */
+    List<Allocation> findPage(long after, AllocationStatus status, Long courseId, Long semesterId,
+                              Long departmentId, Long lecturerId, Pageable pageable);
+    
+    /**
+     * Keyset page of allocation summaries; null filters are ignored.
+     */
+    List<AllocationSummary> findSummaryPage(long after, AllocationStatus status, Long courseId,
+                                            Long lecturerId, Pageable pageable);
+    
+    /**
+     * A student's allocations as summaries, newest first; a null status returns all of them.
+     */
+    List<AllocationSummary> findSummariesByStudent(Long studentId, AllocationStatus status);
+    
+    /**
+     * Forward-only stream of export rows for a semester and/or course; null filters are ignored.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<AllocationExportRow> streamExportRows(Long semesterId, Long courseId, AllocationStatus status);
+}
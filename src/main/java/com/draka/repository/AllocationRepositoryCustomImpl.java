@@ -0,0 +1,169 @@
+package com.draka.repository;
+
+import com.draka.dto.AllocationExportRow;
+import com.draka.dto.AllocationSummary;
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Semester;
+import com.draka.entity.Student;
+import com.draka.entity.User;
+import com.draka.enums.AllocationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_FETCH_GRAPH;
+
+/**
+ * Criteria implementation of {@link AllocationRepositoryCustom}: only the filters that are
+ * set become predicates, instead of an ":x IS NULL OR" branch per filter.
+ */
+class AllocationRepositoryCustomImpl implements AllocationRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Allocation> findPage(long after, AllocationStatus status, Long courseId, Long semesterId,
+                                     Long departmentId, Long lecturerId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Allocation> query = cb.createQuery(Allocation.class);
+        Root<Allocation> a = query.from(Allocation.class);
+        
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.greaterThan(a.get("id"), after));
+        if (status != null) {
+            where.add(cb.equal(a.get("status"), status));
+        }
+        if (courseId != null) {
+            where.add(cb.equal(a.get("course").get("id"), courseId));
+        }
+        if (semesterId != null) {
+            where.add(cb.equal(a.get("course").get("semester").get("id"), semesterId));
+        }
+        if (departmentId != null) {
+            where.add(cb.equal(a.get("course").get("department").get("id"), departmentId));
+        }
+        if (lecturerId != null) {
+            where.add(cb.equal(a.get("course").get("lecturer").get("id"), lecturerId));
+        }
+        
+        query.select(a)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(a.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HINT_SPEC_FETCH_GRAPH,
+                        FetchGraphs.of(entityManager, Allocation.class, AllocationRepository.PAGE_GRAPH))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+    
+    @Override
+    public List<AllocationSummary> findSummaryPage(long after, AllocationStatus status, Long courseId,
+                                                   Long lecturerId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AllocationSummary> query = cb.createQuery(AllocationSummary.class);
+        Root<Allocation> a = query.from(Allocation.class);
+        Join<Allocation, Course> c = a.join("course");
+        
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.greaterThan(a.get("id"), after));
+        if (status != null) {
+            where.add(cb.equal(a.get("status"), status));
+        }
+        if (courseId != null) {
+            where.add(cb.equal(c.get("id"), courseId));
+        }
+        if (lecturerId != null) {
+            where.add(cb.equal(c.get("lecturer").get("id"), lecturerId));
+        }
+        
+        query.select(summary(cb, a, c))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(a.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+    
+    @Override
+    public List<AllocationSummary> findSummariesByStudent(Long studentId, AllocationStatus status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AllocationSummary> query = cb.createQuery(AllocationSummary.class);
+        Root<Allocation> a = query.from(Allocation.class);
+        Join<Allocation, Course> c = a.join("course");
+        
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(a.get("student").get("id"), studentId));
+        if (status != null) {
+            where.add(cb.equal(a.get("status"), status));
+        }
+        
+        query.select(summary(cb, a, c))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(a.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+    
+    @Override
+    public Stream<AllocationExportRow> streamExportRows(Long semesterId, Long courseId, AllocationStatus status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AllocationExportRow> query = cb.createQuery(AllocationExportRow.class);
+        Root<Allocation> a = query.from(Allocation.class);
+        Join<Allocation, Student> s = a.join("student");
+        Join<Student, User> u = s.join("user");
+        Join<Allocation, Course> c = a.join("course");
+        Join<Course, Department> d = c.join("department");
+        Join<Course, Semester> sem = c.join("semester");
+        
+        List<Predicate> where = new ArrayList<>();
+        if (semesterId != null) {
+            where.add(cb.equal(sem.get("id"), semesterId));
+        }
+        if (courseId != null) {
+            where.add(cb.equal(c.get("id"), courseId));
+        }
+        if (status != null) {
+            where.add(cb.equal(a.get("status"), status));
+        }
+        
+        query.select(cb.construct(AllocationExportRow.class,
+                        a.get("id"), a.get("status"), s.get("studentId"), u.get("firstName"), u.get("lastName"),
+                        u.get("email"), s.get("gpa"), c.get("courseCode"), c.get("courseName"), d.get("code"),
+                        sem.get("name"), a.get("createdAt"), a.get("approvedAt")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(a.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, 1000)
+                .getResultStream();
+    }
+    
+    /**
+     * The AllocationSummary constructor call over an allocation and its course join;
+     * adds the student and user joins.
+     */
+    private static CompoundSelection<AllocationSummary> summary(
+            CriteriaBuilder cb, Root<Allocation> a, Join<Allocation, Course> c) {
+        Join<Allocation, Student> s = a.join("student");
+        Join<Student, User> u = s.join("user");
+        Expression<String> name = cb.concat(cb.concat(u.get("firstName"), " "), u.<String>get("lastName"));
+        return cb.construct(AllocationSummary.class,
+                a.get("id"), a.get("status"), c.get("id"), c.get("courseCode"), c.get("courseName"),
+                s.get("id"), s.get("studentId"), name,
+                s.get("gpa"), a.get("studentComment"), a.get("lecturerComment"),
+                a.get("createdAt"), a.get("approvedAt"), a.get("deniedAt"), a.get("droppedAt"));
+    }
+}
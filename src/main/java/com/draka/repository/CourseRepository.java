@@ -1,22 +1,53 @@
 package com.draka.repository;
 
+import com.draka.dto.CourseSummary;
 import com.draka.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
 /**
  * Repository for Course entity.
  */
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseRepositoryCustom {
+    
+    /**
+     * Query space declared by the seat and waitlist counter updates. It matches no entity table,
+     * so Hibernate does not drop the whole course region on each one; callers evict the single
+     * course instead (see AllocationService#evictCourse).
+     */
+    String SEAT_COUNTERS = "course_seat_counters";
+    
+    /**
+     * What the admin and HOD course lists serialize, fetched with the page in one query.
+     */
+    List<String> PAGE_GRAPH = List.of("department", "department.hod", "semester",
+            "lecturer", "lecturer.user", "lecturer.department", "lecturer.department.hod");
     
     Optional<Course> findByCourseCode(String courseCode);
     
+    /**
+     * A course with everything its JSON response includes, in one query.
+     */
+    @EntityGraph(attributePaths = {
+        "department", "department.hod", "semester",
+        "lecturer", "lecturer.user", "lecturer.department", "lecturer.department.hod"
+    })
+    Optional<Course> findWithDetailsById(Long id);
+    
     List<Course> findByDepartmentId(Long departmentId);
     
     List<Course> findBySemesterId(Long semesterId);
@@ -26,16 +57,95 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByIsActiveTrue();
     
     /**
-     * Find courses eligible for a student based on:
-     * - Course is active
-     * - Has an assigned lecturer
-     * - Student's GPA meets minimum requirement
+     * Atomically claim one seat in a course.
+     * The update only matches while the course still has free capacity, so concurrent
+     * approvals can never push current_enrollment past max_capacity.
+     *
+     * @return 1 if a seat was claimed, 0 if the course is full
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = SEAT_COUNTERS))
+    @Query(value = "UPDATE courses SET current_enrollment = current_enrollment + 1 " +
+                   "WHERE id = :courseId AND current_enrollment < max_capacity", nativeQuery = true)
+    int claimSeat(@Param("courseId") Long courseId);
+    
+    /**
+     * Atomically release one seat in a course.
+     *
+     * @return 1 if a seat was released, 0 if the course had no enrolled students
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = SEAT_COUNTERS))
+    @Query(value = "UPDATE courses SET current_enrollment = current_enrollment - 1 " +
+                   "WHERE id = :courseId AND current_enrollment > 0", nativeQuery = true)
+    int releaseSeat(@Param("courseId") Long courseId);
+    
+    /**
+     * Atomically claim several seats at once, all or nothing.
+     *
+     * @return 1 if the seats were claimed, 0 if fewer seats are free
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = SEAT_COUNTERS))
+    @Query(value = "UPDATE courses SET current_enrollment = current_enrollment + :seats " +
+                   "WHERE id = :courseId AND current_enrollment + :seats <= max_capacity", nativeQuery = true)
+    int claimSeats(@Param("courseId") Long courseId, @Param("seats") int seats);
+    
+    /**
+     * Atomically release several seats at once.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = SEAT_COUNTERS))
+    @Query(value = "UPDATE courses SET current_enrollment = current_enrollment - :seats " +
+                   "WHERE id = :courseId AND current_enrollment >= :seats", nativeQuery = true)
+    int releaseSeats(@Param("courseId") Long courseId, @Param("seats") int seats);
+    
+    @Query("SELECT c.maxCapacity - c.currentEnrollment FROM Course c WHERE c.id = :courseId")
+    Optional<Integer> findAvailableSeats(@Param("courseId") Long courseId);
+    
+    /**
+     * Reserve the next waitlist sequence; read it back with {@link #findWaitlistTail}.
+     * The row stays locked until commit, so the value read back is ours.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = SEAT_COUNTERS))
+    @Query(value = "UPDATE courses SET waitlist_tail = waitlist_tail + 1 WHERE id = :courseId", nativeQuery = true)
+    int incrementWaitlistTail(@Param("courseId") Long courseId);
+    
+    @Query("SELECT c.waitlistTail FROM Course c WHERE c.id = :courseId")
+    Long findWaitlistTail(@Param("courseId") Long courseId);
+    
+    /**
+     * Atomically take the head of the waitlist; read the taken sequence back with {@link #findWaitlistHead} - 1.
+     *
+     * @return 1 if an entry was taken, 0 if the waitlist is empty
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = SEAT_COUNTERS))
+    @Query(value = "UPDATE courses SET waitlist_head = waitlist_head + 1 " +
+                   "WHERE id = :courseId AND waitlist_head <= waitlist_tail", nativeQuery = true)
+    int advanceWaitlistHead(@Param("courseId") Long courseId);
+    
+    @Query("SELECT c.waitlistHead FROM Course c WHERE c.id = :courseId")
+    Long findWaitlistHead(@Param("courseId") Long courseId);
+    
+    /**
+     * Courses a student is eligible for, as summaries: active, taught by a lecturer, in the
+     * given semester, with a minimum GPA the student meets. The student's GPA is joined in,
+     * so the caller only needs the student id.
+     * Cached in the short-lived eligible-courses region: seat updates do not invalidate it.
      */
-    @Query("SELECT c FROM Course c WHERE c.isActive = true " +
-           "AND c.lecturer IS NOT NULL " +
-           "AND c.minimumGpa <= :studentGpa " +
-           "AND c.semester.id = :semesterId")
-    List<Course> findEligibleCoursesForStudent(
-            @Param("studentGpa") Double studentGpa, 
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "eligible-courses")
+    })
+    @Query("SELECT new com.draka.dto.CourseSummary(c.id, c.courseCode, c.courseName, c.description, c.credits, " +
+           "c.minimumGpa, c.maxCapacity, c.currentEnrollment, c.isActive, d.code, s.name, " +
+           "l.id, CONCAT(u.firstName, ' ', u.lastName)) " +
+           "FROM Course c JOIN c.department d JOIN c.semester s JOIN c.lecturer l JOIN l.user u, Student st " +
+           "WHERE st.id = :studentId AND c.isActive = true AND c.minimumGpa <= st.gpa AND s.id = :semesterId " +
+           "ORDER BY c.courseCode")
+    List<CourseSummary> findEligibleSummaries(
+            @Param("studentId") Long studentId,
             @Param("semesterId") Long semesterId);
 }
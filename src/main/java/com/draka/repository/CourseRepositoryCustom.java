@@ -0,0 +1,23 @@
+package com.draka.repository;
+
+import com.draka.dto.CourseSummary;
+import com.draka.entity.Course;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Course queries whose WHERE clause depends on which filters are given.
+ */
+public interface CourseRepositoryCustom {
+    
+    /**
+     * Keyset page of courses with {@link CourseRepository#PAGE_GRAPH}; null filters are ignored.
+     */
+    List<Course> findPage(long after, Long semesterId, Long departmentId, Long lecturerId, Pageable pageable);
+    
+    /**
+     * Keyset page of course summaries; null filters are ignored.
+     */
+    List<CourseSummary> findSummaryPage(long after, Long semesterId, Long lecturerId, Pageable pageable);
+}
@@ -0,0 +1,91 @@
+package com.draka.repository;
+
+import com.draka.dto.CourseSummary;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Lecturer;
+import com.draka.entity.Semester;
+import com.draka.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_FETCH_GRAPH;
+
+/**
+ * Criteria implementation of {@link CourseRepositoryCustom}: only the filters that are
+ * set become predicates, instead of an ":x IS NULL OR" branch per filter.
+ */
+class CourseRepositoryCustomImpl implements CourseRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Course> findPage(long after, Long semesterId, Long departmentId, Long lecturerId,
+                                 Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Course> query = cb.createQuery(Course.class);
+        Root<Course> c = query.from(Course.class);
+        
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.greaterThan(c.get("id"), after));
+        if (semesterId != null) {
+            where.add(cb.equal(c.get("semester").get("id"), semesterId));
+        }
+        if (departmentId != null) {
+            where.add(cb.equal(c.get("department").get("id"), departmentId));
+        }
+        if (lecturerId != null) {
+            where.add(cb.equal(c.get("lecturer").get("id"), lecturerId));
+        }
+        
+        query.select(c)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(c.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HINT_SPEC_FETCH_GRAPH, FetchGraphs.of(entityManager, Course.class, CourseRepository.PAGE_GRAPH))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+    
+    @Override
+    public List<CourseSummary> findSummaryPage(long after, Long semesterId, Long lecturerId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CourseSummary> query = cb.createQuery(CourseSummary.class);
+        Root<Course> c = query.from(Course.class);
+        Join<Course, Department> d = c.join("department");
+        Join<Course, Semester> s = c.join("semester");
+        Join<Course, Lecturer> l = c.join("lecturer", JoinType.LEFT);
+        Join<Lecturer, User> u = l.join("user", JoinType.LEFT);
+        
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.greaterThan(c.get("id"), after));
+        if (semesterId != null) {
+            where.add(cb.equal(s.get("id"), semesterId));
+        }
+        if (lecturerId != null) {
+            where.add(cb.equal(l.get("id"), lecturerId));
+        }
+        
+        query.select(cb.construct(CourseSummary.class,
+                        c.get("id"), c.get("courseCode"), c.get("courseName"), c.get("description"),
+                        c.get("credits"), c.get("minimumGpa"), c.get("maxCapacity"), c.get("currentEnrollment"),
+                        c.get("isActive"), d.get("code"), s.get("name"), l.get("id"),
+                        cb.concat(cb.concat(u.get("firstName"), " "), u.<String>get("lastName"))))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(c.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
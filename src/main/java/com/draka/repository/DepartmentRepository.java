@@ -1,9 +1,15 @@
 package com.draka.repository;
 
+import com.draka.dto.DepartmentSummary;
 import com.draka.entity.Department;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,9 +20,35 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     
     Optional<Department> findByCode(String code);
     
+    /**
+     * A department with its HOD, which its JSON response includes.
+     */
+    @EntityGraph(attributePaths = "hod")
+    Optional<Department> findWithHodById(Long id);
+    
+    List<Department> findByCodeIn(Collection<String> codes);
+    
     Optional<Department> findByName(String name);
     
     Boolean existsByCode(String code);
     
     Boolean existsByName(String name);
+    
+    String SUMMARY_SELECT = "SELECT new com.draka.dto.DepartmentSummary(d.id, d.name, d.code, d.description, " +
+            "h.id, CONCAT(h.firstName, ' ', h.lastName), " +
+            "(SELECT COUNT(s) FROM Student s WHERE s.department.id = d.id), " +
+            "(SELECT COUNT(l) FROM Lecturer l WHERE l.department.id = d.id), " +
+            "(SELECT COUNT(c) FROM Course c WHERE c.department.id = d.id), " +
+            "(SELECT COALESCE(SUM(c.currentEnrollment), 0L) FROM Course c " +
+            "WHERE c.department.id = d.id AND c.semester.isActive = true)) " +
+            "FROM Department d LEFT JOIN d.hod h ";
+    
+    /**
+     * All departments with their headcounts, in one statement.
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY d.name")
+    List<DepartmentSummary> findAllSummaries();
+    
+    @Query(SUMMARY_SELECT + "WHERE d.id = :id")
+    Optional<DepartmentSummary> findSummaryById(@Param("id") Long id);
 }
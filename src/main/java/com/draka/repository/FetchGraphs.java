@@ -0,0 +1,47 @@
+package com.draka.repository;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Subgraph;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a fetch graph from dotted attribute paths such as "course.lecturer.user", the form
+ * the repositories' PAGE_GRAPH lists use, for the Criteria queries that pass it as a hint.
+ */
+final class FetchGraphs {
+    
+    private FetchGraphs() {
+    }
+    
+    static <T> EntityGraph<T> of(EntityManager entityManager, Class<T> type, List<String> paths) {
+        EntityGraph<T> graph = entityManager.createEntityGraph(type);
+        // Asking a graph for the same subgraph twice does not return the first one, so each
+        // prefix ("course", "course.lecturer") is created once and reused by longer paths
+        Map<String, Subgraph<?>> subgraphs = new HashMap<>();
+        for (String path : paths) {
+            int dot = path.lastIndexOf('.');
+            if (dot < 0) {
+                graph.addAttributeNodes(path);
+            } else {
+                subgraph(graph, subgraphs, path.substring(0, dot)).addAttributeNodes(path.substring(dot + 1));
+            }
+        }
+        return graph;
+    }
+    
+    private static Subgraph<?> subgraph(EntityGraph<?> graph, Map<String, Subgraph<?>> subgraphs, String path) {
+        Subgraph<?> subgraph = subgraphs.get(path);
+        if (subgraph == null) {
+            int dot = path.lastIndexOf('.');
+            subgraph = dot < 0
+                    ? graph.addSubgraph(path)
+                    : subgraph(graph, subgraphs, path.substring(0, dot)).addSubgraph(path.substring(dot + 1));
+            subgraphs.put(path, subgraph);
+        }
+        return subgraph;
+    }
+}
@@ -1,7 +1,10 @@
 package com.draka.repository;
 
 import com.draka.entity.Lecturer;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,12 +14,26 @@ import java.util.Optional;
  * Repository for Lecturer entity.
  */
 @Repository
-public interface LecturerRepository extends JpaRepository<Lecturer, Long> {
+public interface LecturerRepository extends JpaRepository<Lecturer, Long>, LecturerRepositoryCustom {
+    
+    /**
+     * What the admin and HOD lecturer lists serialize, fetched with the page in one query.
+     */
+    List<String> PAGE_GRAPH = List.of("user", "department", "department.hod");
     
     Optional<Lecturer> findByEmployeeId(String employeeId);
     
     Optional<Lecturer> findByUserId(Long userId);
     
+    /**
+     * A lecturer with its user and department, for the dashboards and course responses.
+     */
+    @EntityGraph(attributePaths = {"user", "department", "department.hod"})
+    Optional<Lecturer> findWithDetailsById(Long id);
+    
+    @Query("SELECT l.id FROM Lecturer l WHERE l.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+    
     List<Lecturer> findByDepartmentId(Long departmentId);
     
     Boolean existsByEmployeeId(String employeeId);
@@ -0,0 +1,18 @@
+package com.draka.repository;
+
+import com.draka.entity.Lecturer;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Lecturer queries whose WHERE clause depends on which filters are given.
+ */
+public interface LecturerRepositoryCustom {
+    
+    /**
+     * Keyset page of lecturers with {@link LecturerRepository#PAGE_GRAPH}; a null department
+     * returns every department.
+     */
+    List<Lecturer> findPage(long after, Long departmentId, Pageable pageable);
+}
@@ -0,0 +1,46 @@
+package com.draka.repository;
+
+import com.draka.entity.Lecturer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_FETCH_GRAPH;
+
+/**
+ * Criteria implementation of {@link LecturerRepositoryCustom}: only the filters that are
+ * set become predicates, instead of an ":x IS NULL OR" branch per filter.
+ */
+class LecturerRepositoryCustomImpl implements LecturerRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Lecturer> findPage(long after, Long departmentId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Lecturer> query = cb.createQuery(Lecturer.class);
+        Root<Lecturer> l = query.from(Lecturer.class);
+        
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.greaterThan(l.get("id"), after));
+        if (departmentId != null) {
+            where.add(cb.equal(l.get("department").get("id"), departmentId));
+        }
+        
+        query.select(l)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(l.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HINT_SPEC_FETCH_GRAPH, FetchGraphs.of(entityManager, Lecturer.class, LecturerRepository.PAGE_GRAPH))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -2,18 +2,28 @@ package com.draka.repository;
 
 import com.draka.entity.Semester;
 import com.draka.enums.SemesterType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 /**
  * Repository for Semester entity.
  */
 @Repository
 public interface SemesterRepository extends JpaRepository<Semester, Long> {
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Semester> findByIsActiveTrue();
     
     List<Semester> findByYear(Integer year);
@@ -21,4 +31,28 @@ public interface SemesterRepository extends JpaRepository<Semester, Long> {
     List<Semester> findByType(SemesterType type);
     
     Optional<Semester> findByYearAndType(Integer year, SemesterType type);
+    
+    /**
+     * Lock the active semester and the given one (null for none) until commit.
+     * Activations take this lock first, so they queue instead of clashing on the single-active index.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Semester s WHERE s.isActive = true OR s.id = :id ORDER BY s.id")
+    List<Semester> lockActiveOrById(@Param("id") Long id);
+    
+    /**
+     * Mark one semester active; deactivate the current one first (see {@link #deactivateOthers}).
+     *
+     * @return number of rows updated, 0 if the semester does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Semester s SET s.isActive = true WHERE s.id = :id")
+    int activate(@Param("id") Long id);
+    
+    /**
+     * Deactivate every active semester except the given one (null to deactivate all).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Semester s SET s.isActive = false WHERE s.isActive = true AND (:keepId IS NULL OR s.id <> :keepId)")
+    int deactivateOthers(@Param("keepId") Long keepId);
 }
@@ -1,9 +1,13 @@
 package com.draka.repository;
 
 import com.draka.entity.Student;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,13 +15,30 @@ import java.util.Optional;
  * Repository for Student entity.
  */
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
+    
+    /**
+     * What the admin and HOD student lists serialize, fetched with the page in one query.
+     */
+    List<String> PAGE_GRAPH = List.of("user", "department", "department.hod");
     
     Optional<Student> findByStudentId(String studentId);
     
     Optional<Student> findByUserId(Long userId);
     
+    /**
+     * A student with its user and department, for the dashboard.
+     */
+    @EntityGraph(attributePaths = {"user", "department", "department.hod"})
+    Optional<Student> findWithDetailsById(Long id);
+    
+    @Query("SELECT s.id FROM Student s WHERE s.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+    
     List<Student> findByDepartmentId(Long departmentId);
     
     Boolean existsByStudentId(String studentId);
+    
+    @Query("SELECT s.studentId FROM Student s WHERE s.studentId IN :studentIds")
+    List<String> findExistingStudentIds(@Param("studentIds") Collection<String> studentIds);
 }
@@ -0,0 +1,18 @@
+package com.draka.repository;
+
+import com.draka.entity.Student;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Student queries whose WHERE clause depends on which filters are given.
+ */
+public interface StudentRepositoryCustom {
+    
+    /**
+     * Keyset page of students with {@link StudentRepository#PAGE_GRAPH}; a null department
+     * returns every department.
+     */
+    List<Student> findPage(long after, Long departmentId, Pageable pageable);
+}
@@ -0,0 +1,46 @@
+package com.draka.repository;
+
+import com.draka.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_FETCH_GRAPH;
+
+/**
+ * Criteria implementation of {@link StudentRepositoryCustom}: only the filters that are
+ * set become predicates, instead of an ":x IS NULL OR" branch per filter.
+ */
+class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Student> findPage(long after, Long departmentId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = cb.createQuery(Student.class);
+        Root<Student> s = query.from(Student.class);
+        
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.greaterThan(s.get("id"), after));
+        if (departmentId != null) {
+            where.add(cb.equal(s.get("department").get("id"), departmentId));
+        }
+        
+        query.select(s)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(s.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HINT_SPEC_FETCH_GRAPH, FetchGraphs.of(entityManager, Student.class, StudentRepository.PAGE_GRAPH))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -0,0 +1,18 @@
+package com.draka.repository;
+
+import com.draka.entity.User;
+import com.draka.enums.Role;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * User queries whose WHERE clause depends on which filters are given.
+ */
+public interface UserRepositoryCustom {
+    
+    /**
+     * Keyset page of users; a null role returns every role.
+     */
+    List<User> findPage(long after, Role role, Pageable pageable);
+}
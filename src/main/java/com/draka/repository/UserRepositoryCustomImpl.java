@@ -0,0 +1,44 @@
+package com.draka.repository;
+
+import com.draka.entity.User;
+import com.draka.enums.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link UserRepositoryCustom}: only the filters that are
+ * set become predicates, instead of an ":x IS NULL OR" branch per filter.
+ */
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<User> findPage(long after, Role role, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<User> query = cb.createQuery(User.class);
+        Root<User> u = query.from(User.class);
+        
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.greaterThan(u.get("id"), after));
+        if (role != null) {
+            where.add(cb.equal(u.get("role"), role));
+        }
+        
+        query.select(u)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(u.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -0,0 +1,251 @@
+package com.draka.security;
+
+import com.draka.dto.PasswordHashingStatistics;
+import com.draka.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BCrypt password encoder that runs every hash on a dedicated, bounded worker pool.
+ *
+ * A login storm can then use at most the configured number of cores for hashing, leaving
+ * the rest for cheap requests. When the login queue is full callers get a 503 with Retry-After
+ * immediately instead of piling up. Hashes made with a lower cost than the configured
+ * strength are reported by {@link #upgradeEncoding(String)} so they are re-hashed on login.
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${security.password-hashing.strength:10}")
+    private int strength;
+    
+    @Value("${security.password-hashing.threads:0}")
+    private int threads;
+    
+    @Value("${security.password-hashing.queue-capacity:200}")
+    private int queueCapacity;
+    
+    private BCryptPasswordEncoder delegate;
+    
+    private ThreadPoolExecutor executor;
+    
+    /** Logins queued or hashing; a login that finds none left is rejected. */
+    private Semaphore loginSlots;
+    
+    /** Import hashes queued or running, shared by all imports: one per worker. */
+    private Semaphore importSlots;
+    
+    private final LongAdder hashCount = new LongAdder();
+    
+    private final LongAdder hashNanos = new LongAdder();
+    
+    private final LongAdder waitNanos = new LongAdder();
+    
+    private final LongAdder rejected = new LongAdder();
+    
+    @PostConstruct
+    void init() {
+        delegate = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        loginSlots = new Semaphore(queueCapacity + poolSize);
+        importSlots = new Semaphore(poolSize);
+        AtomicInteger counter = new AtomicInteger();
+        // Every login and import slot fits in the workers plus the queue, so submits never
+        // bounce; the semaphores decide who waits and who is turned away
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity + poolSize), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        registerMeters();
+    }
+    
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    /**
+     * Get pool, queue and timing statistics.
+     */
+    public PasswordHashingStatistics getStatistics() {
+        long count = hashCount.sum();
+        return new PasswordHashingStatistics(
+                strength,
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                queueCapacity,
+                count,
+                rejected.sum(),
+                count > 0 ? hashNanos.sum() / 1e6 / count : 0.0,
+                count > 0 ? waitNanos.sum() / 1e6 / count : 0.0);
+    }
+    
+    /**
+     * Hash passwords for a bulk import, in parallel on the same workers. Imports together
+     * keep at most one task per worker queued or running, in queue room reserved on top of
+     * the login capacity, so they never take a login's place; an import blocks until one of
+     * its tasks finishes rather than failing.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                importSlots.acquire();
+                futures.add(submit(timed(() -> delegate.encode(rawPassword)), importSlots));
+            }
+            List<String> hashes = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                hashes.add(await(future));
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password hashing was interrupted, please retry", 1);
+        }
+    }
+    
+    private <T> T run(Callable<T> task) {
+        if (!loginSlots.tryAcquire()) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many sign-in attempts in progress, please retry shortly",
+                    retryAfterSeconds());
+        }
+        Future<T> future = submit(timed(task), loginSlots);
+        
+        try {
+            return await(future);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password check was interrupted, please retry", 1);
+        }
+    }
+    
+    /**
+     * Run a task that holds one of the given slots; the slot is released when the task
+     * completes, fails or is cancelled.
+     */
+    private <T> Future<T> submit(Callable<T> task, Semaphore slots) {
+        FutureTask<T> future = new FutureTask<>(task) {
+            @Override
+            protected void done() {
+                slots.release();
+            }
+        };
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw new ServiceUnavailableException("Password hashing is shutting down, please retry", 1);
+        }
+        return future;
+    }
+    
+    /**
+     * Publish the pool and the counters behind {@link #getStatistics()}; the timers read the
+     * same adders, so hashing records nothing extra.
+     */
+    private void registerMeters() {
+        Gauge.builder("password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Hashing tasks waiting for a worker, logins and imports")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing workers busy")
+                .register(meterRegistry);
+        FunctionCounter.builder("password.hashing.rejections", rejected, LongAdder::sum)
+                .description("Logins turned away because the hashing queue was full")
+                .register(meterRegistry);
+        FunctionTimer.builder("password.hashing.duration", this, encoder -> encoder.hashCount.sum(),
+                        encoder -> encoder.hashNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time spent hashing on a worker")
+                .register(meterRegistry);
+        FunctionTimer.builder("password.hashing.wait", this, encoder -> encoder.hashCount.sum(),
+                        encoder -> encoder.waitNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time hashing tasks spent queued")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Wrap a task to record its queue wait and hashing time.
+     */
+    private <T> Callable<T> timed(Callable<T> task) {
+        long submitted = System.nanoTime();
+        return () -> {
+            long started = System.nanoTime();
+            try {
+                return task.call();
+            } finally {
+                long finished = System.nanoTime();
+                waitNanos.add(started - submitted);
+                hashNanos.add(finished - started);
+                hashCount.increment();
+            }
+        };
+    }
+    
+    private <T> T await(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    /**
+     * Time for the workers to drain a full queue at the observed hash rate.
+     */
+    private long retryAfterSeconds() {
+        long count = hashCount.sum();
+        double hashMillis = count > 0 ? hashNanos.sum() / 1e6 / count : 100.0;
+        double drainSeconds = queueCapacity * hashMillis / executor.getMaximumPoolSize() / 1000;
+        return Math.max(1, Math.min(30, (long) Math.ceil(drainSeconds)));
+    }
+}
@@ -0,0 +1,15 @@
+package com.draka.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the Student profile id of the authenticated user into a controller method parameter.
+ * Resolved by {@link ProfileIdResolver}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentStudentId {
+}
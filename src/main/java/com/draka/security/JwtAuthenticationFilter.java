@@ -1,14 +1,21 @@
 package com.draka.security;
 
+import com.draka.entity.User;
+import com.draka.enums.Role;
+import com.draka.metrics.RoleTagObservationConvention;
+import com.draka.metrics.StatementCountingInspector;
+import com.draka.metrics.jfr.AuthenticationEvent;
+import com.draka.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -19,6 +26,8 @@ import java.io.IOException;
 /**
  * JWT authentication filter.
  * Intercepts requests, validates JWT token, and sets authentication in SecurityContext.
+ * With security.jwt.stateless=true the principal is built from the token's claims alone;
+ * account changes then only take effect when the user's tokens expire or are revoked.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -27,36 +36,93 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
     
     @Autowired
-    private UserDetailsService userDetailsService;
+    private UserDetailsCache userDetailsCache;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Value("${security.jwt.stateless:false}")
+    private boolean stateless;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                     HttpServletResponse response, 
                                     FilterChain filterChain)
             throws ServletException, IOException {
+        String jwt = parseJwt(request);
+        if (jwt != null) {
+            authenticate(jwt, request);
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    /**
+     * Verify the token and set the authentication, recording an {@link AuthenticationEvent}.
+     */
+    private void authenticate(String jwt, HttpServletRequest request) {
+        AuthenticationEvent event = new AuthenticationEvent();
+        int statementsBefore = StatementCountingInspector.current();
+        event.begin();
         try {
-            String jwt = parseJwt(request);
+            Claims claims = jwtUtils.parseAccessToken(jwt);
+            if (claims == null) {
+                event.outcome = "invalid";
+                return;
+            }
+            event.username = claims.getSubject();
+            if (tokenRevocationService.isRevoked(claims)) {
+                event.outcome = "revoked";
+                return;
+            }
             
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUsernameFromJwtToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities());
-                
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            UserDetails userDetails = stateless ? principalFromClaims(claims) : null;
+            if (userDetails == null) {
+                userDetails = userDetailsCache.get(claims.getSubject());
             }
+            
+            if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+                event.outcome = "disabled";
+                return;
+            }
+            
+            UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities());
+            
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (userDetails instanceof User user) {
+                request.setAttribute(RoleTagObservationConvention.ROLE_ATTRIBUTE, user.getRole().name());
+            }
+            event.outcome = "authenticated";
         } catch (Exception e) {
+            event.outcome = "error";
             logger.error("Cannot set user authentication: {}", e);
+        } finally {
+            event.sqlCount = StatementCountingInspector.current() - statementsBefore;
+            event.commit();
         }
-        
-        filterChain.doFilter(request, response);
+    }
+    
+    /**
+     * Build the principal from the token's user id and role claims, without a database lookup.
+     * Returns null for tokens issued without those claims.
+     */
+    private UserDetails principalFromClaims(Claims claims) {
+        Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+        String role = claims.get(JwtUtils.ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(claims.getSubject());
+        user.setRole(Role.valueOf(role));
+        return user;
     }
     
     /**
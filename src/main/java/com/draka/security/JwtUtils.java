@@ -1,7 +1,11 @@
 package com.draka.security;
 
+import com.draka.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,25 +14,55 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Utility class for JWT token operations.
  * Handles token generation, validation, and parsing.
+ * The signing key and parser are built once; each token is verified exactly once.
+ * Access tokens carry a unique id (jti) so they can be revoked individually.
  */
 @Component
 public class JwtUtils {
     
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+    
+    public static final String USER_ID_CLAIM = "uid";
+    
+    public static final String ROLE_CLAIM = "role";
+    
+    private static final String ADMISSION_CLAIM = "adm";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
     
+    private SecretKey signingKey;
+    
+    private JwtParser parser;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+    
     /**
      * Generate JWT token from authentication.
+     * Tokens for application users also carry the user id and role.
      */
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        if (userPrincipal instanceof User user) {
+            return accessTokenBuilder(user.getUsername())
+                    .claim(USER_ID_CLAIM, user.getId())
+                    .claim(ROLE_CLAIM, user.getRole().name())
+                    .compact();
+        }
         return generateTokenFromUsername(userPrincipal.getUsername());
     }
     
@@ -36,53 +70,83 @@ public class JwtUtils {
      * Generate JWT token from username.
      */
     public String generateTokenFromUsername(String username) {
-        return Jwts.builder()
-                .subject(username)
-                .issuedAt(new Date())
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
-                .compact();
+        return accessTokenBuilder(username).compact();
+    }
+    
+    /**
+     * Verify an access token and return its claims, or null if it is invalid, expired
+     * or not an access token.
+     */
+    public Claims parseAccessToken(String token) {
+        Claims claims = parse(token);
+        // Admission tokens only open the waiting room, they are not credentials
+        if (claims == null || claims.get(ADMISSION_CLAIM) != null) {
+            return null;
+        }
+        return claims;
     }
     
     /**
      * Get username from JWT token.
      */
     public String getUsernameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        Claims claims = parseAccessToken(token);
+        return claims != null ? claims.getSubject() : null;
     }
     
     /**
      * Validate JWT token.
      */
     public boolean validateJwtToken(String authToken) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
-        } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
-        }
-        return false;
+        return parseAccessToken(authToken) != null;
+    }
+    
+    /**
+     * Generate a short-lived registration admission token for the waiting room.
+     */
+    public String generateAdmissionToken(String username, long ttlMs) {
+        return builder(username, ttlMs)
+                .claim(ADMISSION_CLAIM, true)
+                .compact();
+    }
+    
+    /**
+     * Validate an admission token issued to the given user.
+     */
+    public boolean validateAdmissionToken(String token, String username) {
+        Claims claims = parse(token);
+        return claims != null
+                && Boolean.TRUE.equals(claims.get(ADMISSION_CLAIM, Boolean.class))
+                && username.equals(claims.getSubject());
+    }
+    
+    private JwtBuilder accessTokenBuilder(String username) {
+        return builder(username, jwtExpirationMs)
+                .id(UUID.randomUUID().toString());
+    }
+    
+    private JwtBuilder builder(String username, long ttlMs) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject(username)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + ttlMs))
+                .signWith(signingKey);
     }
     
     /**
-     * Get signing key for JWT.
+     * Verify the signature and expiry once and return the claims, or null on any failure.
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Claims parse(String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            logger.debug("JWT token is expired: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.warn("Invalid JWT token: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            logger.warn("JWT claims string is empty: {}", e.getMessage());
+        }
+        return null;
     }
 }
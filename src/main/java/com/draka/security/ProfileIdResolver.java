@@ -0,0 +1,137 @@
+package com.draka.security;
+
+import com.draka.dto.LocalCacheStatistics;
+import com.draka.entity.User;
+import com.draka.exception.ResourceNotFoundException;
+import com.draka.repository.LecturerRepository;
+import com.draka.repository.StudentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Resolves {@link CurrentStudentId} and {@link CurrentLecturerId} controller parameters.
+ *
+ * The profile id is looked up by user id at most once per request (kept as a request
+ * attribute) and shared across requests through a small cache. A user's profile never
+ * moves to another user, so entries only expire by size and TTL.
+ */
+@Component
+public class ProfileIdResolver implements HandlerMethodArgumentResolver {
+    
+    private static final String STUDENT_ID_ATTRIBUTE = ProfileIdResolver.class.getName() + ".studentId";
+    
+    private static final String LECTURER_ID_ATTRIBUTE = ProfileIdResolver.class.getName() + ".lecturerId";
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private LecturerRepository lecturerRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${security.profile-cache.max-size:10000}")
+    private long maxSize;
+    
+    @Value("${security.profile-cache.ttl:600000}")
+    private long ttlMs;
+    
+    private Cache<Long, Long> studentIds;
+    
+    private Cache<Long, Long> lecturerIds;
+    
+    @PostConstruct
+    void init() {
+        studentIds = newCache();
+        lecturerIds = newCache();
+        CaffeineCacheMetrics.monitor(meterRegistry, studentIds, "student-profile-ids");
+        CaffeineCacheMetrics.monitor(meterRegistry, lecturerIds, "lecturer-profile-ids");
+    }
+    
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentStudentId.class)
+                || parameter.hasParameterAnnotation(CurrentLecturerId.class);
+    }
+    
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        if (parameter.hasParameterAnnotation(CurrentStudentId.class)) {
+            return resolve(webRequest, STUDENT_ID_ATTRIBUTE, studentIds,
+                    studentRepository::findIdByUserId, "Student profile not found");
+        }
+        return resolve(webRequest, LECTURER_ID_ATTRIBUTE, lecturerIds,
+                lecturerRepository::findIdByUserId, "Lecturer profile not found");
+    }
+    
+    /**
+     * Get hit/miss statistics of the student and lecturer id caches.
+     */
+    public List<LocalCacheStatistics> getStatistics() {
+        return List.of(
+                statistics("student-profile-ids", studentIds),
+                statistics("lecturer-profile-ids", lecturerIds));
+    }
+    
+    private Long resolve(NativeWebRequest webRequest, String attribute, Cache<Long, Long> cache,
+                         Function<Long, Optional<Long>> lookup, String notFoundMessage) {
+        Long profileId = (Long) webRequest.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (profileId != null) {
+            return profileId;
+        }
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            throw new ResourceNotFoundException(notFoundMessage);
+        }
+        
+        // Misses are not cached, so a profile created later is picked up on the next request.
+        // The lookup runs outside the cache's compute lock so virtual threads do not pin on it.
+        profileId = cache.getIfPresent(user.getId());
+        if (profileId == null) {
+            profileId = lookup.apply(user.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException(notFoundMessage));
+            cache.put(user.getId(), profileId);
+        }
+        webRequest.setAttribute(attribute, profileId, RequestAttributes.SCOPE_REQUEST);
+        return profileId;
+    }
+    
+    private Cache<Long, Long> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+    }
+    
+    private LocalCacheStatistics statistics(String name, Cache<Long, Long> cache) {
+        CacheStats stats = cache.stats();
+        return new LocalCacheStatistics(name, cache.estimatedSize(), stats.hitCount(),
+                stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,108 @@
+package com.draka.security;
+
+import com.draka.dto.LocalCacheStatistics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-based cache of UserDetails for authenticating JWT requests.
+ *
+ * Only the JWT filter reads through this cache; login still loads the user from the
+ * database so password checks always see current credentials. Admin changes to a user
+ * evict the entry once their transaction commits.
+ */
+@Component
+public class UserDetailsCache {
+    
+    @Autowired
+    private UserDetailsService userDetailsService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${security.user-cache.max-size:10000}")
+    private long maxSize;
+    
+    @Value("${security.user-cache.ttl:60000}")
+    private long ttlMs;
+    
+    private Cache<String, UserDetails> cache;
+    
+    /**
+     * Bumped before every eviction, so a load that raced one can tell its result may be stale.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+    
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-details");
+    }
+    
+    /**
+     * Get the user, loading it through the UserDetailsService on a miss.
+     */
+    public UserDetails get(String username) {
+        UserDetails userDetails = cache.getIfPresent(username);
+        if (userDetails == null) {
+            // Loaded outside the cache's compute lock so a virtual thread never pins its carrier on the query
+            long generation = evictions.get();
+            userDetails = userDetailsService.loadUserByUsername(username);
+            cache.put(username, userDetails);
+            // An eviction since the load may have run before the put and left a stale entry behind;
+            // drop it so the next request reloads. One that bumps later also invalidates after the put.
+            if (evictions.get() != generation) {
+                cache.invalidate(username);
+            }
+        }
+        return userDetails;
+    }
+    
+    /**
+     * Evict a user once the current transaction commits (immediately if there is none).
+     */
+    public void evictAfterCommit(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(username);
+            }
+        });
+    }
+    
+    private void evict(String username) {
+        evictions.incrementAndGet();
+        cache.invalidate(username);
+    }
+    
+    /**
+     * Get hit/miss statistics.
+     */
+    public LocalCacheStatistics getStatistics() {
+        CacheStats stats = cache.stats();
+        return new LocalCacheStatistics("user-details", cache.estimatedSize(), stats.hitCount(),
+                stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,67 @@
+package com.draka.security;
+
+import com.draka.service.WaitingRoomService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Admission gate for the registration endpoints.
+ * While the waiting room is enabled, students must present an admission token
+ * (obtained from POST /api/student/waiting-room) in the X-Admission-Token header.
+ * Not a Spring bean on purpose: it only runs inside the security filter chain,
+ * after the JWT filter has authenticated the caller.
+ */
+public class WaitingRoomFilter extends OncePerRequestFilter {
+    
+    public static final String ADMISSION_HEADER = "X-Admission-Token";
+    
+    private static final Set<String> GUARDED_PATHS = Set.of(
+            "/api/student/courses/eligible",
+            "/api/student/courses/enroll");
+    
+    private final WaitingRoomService waitingRoomService;
+    
+    public WaitingRoomFilter(WaitingRoomService waitingRoomService) {
+        this.waitingRoomService = waitingRoomService;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!waitingRoomService.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !GUARDED_PATHS.contains(path);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        // Unauthenticated requests are rejected later by the authorization rules
+        if (authentication == null
+                || waitingRoomService.isAdmitted(request.getHeader(ADMISSION_HEADER), authentication.getName())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        response.setContentType("application/json");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(waitingRoomService.retryAfterSeconds()));
+        response.getWriter().write("{\"success\": false, \"message\": \"Registration is busy. " +
+                "Join the waiting room at /api/student/waiting-room to get an admission token\"}");
+    }
+}
@@ -0,0 +1,75 @@
+package com.draka.service;
+
+import com.draka.entity.Semester;
+import com.draka.repository.SemesterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of the active semester.
+ *
+ * Loaded on first use and dropped after any transaction that changes which semester is
+ * active commits, so readers never see a semester whose activation rolled back. The
+ * partial unique index on semesters.is_active guarantees there is at most one to hold.
+ * A short TTL bounds staleness when another instance activates a semester.
+ */
+@Component
+public class ActiveSemesterHolder {
+    
+    @Autowired
+    private SemesterRepository semesterRepository;
+    
+    @Value("${semester.active-cache-ttl:30000}")
+    private long ttlMs;
+    
+    private final AtomicLong generation = new AtomicLong();
+    
+    private volatile Snapshot snapshot;
+    
+    /**
+     * Get the active semester, loading it if the cached copy is missing or expired.
+     */
+    public Optional<Semester> get() {
+        Snapshot current = snapshot;
+        long currentGeneration = generation.get();
+        // A copy loaded before the latest activation committed is treated as missing
+        if (current != null && current.generation == currentGeneration
+                && System.nanoTime() - current.loadedAtNanos < TimeUnit.MILLISECONDS.toNanos(ttlMs)) {
+            return current.semester;
+        }
+        
+        Optional<Semester> semester = semesterRepository.findByIsActiveTrue();
+        snapshot = new Snapshot(semester, currentGeneration, System.nanoTime());
+        return semester;
+    }
+    
+    /**
+     * Drop the cached copy once the current transaction commits (immediately if there is none).
+     */
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+    
+    private void invalidate() {
+        generation.incrementAndGet();
+    }
+    
+    private record Snapshot(Optional<Semester> semester, long generation, long loadedAtNanos) {
+    }
+}
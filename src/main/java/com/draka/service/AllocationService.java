@@ -1,6 +1,10 @@
 package com.draka.service;
 
+import com.draka.dto.AllocationStatusView;
+import com.draka.dto.AllocationSummary;
 import com.draka.dto.ApprovalRequest;
+import com.draka.dto.BulkApprovalResult;
+import com.draka.dto.CursorPage;
 import com.draka.dto.EnrollmentRequest;
 import com.draka.entity.Allocation;
 import com.draka.entity.Course;
@@ -8,15 +12,38 @@ import com.draka.entity.Student;
 import com.draka.enums.AllocationStatus;
 import com.draka.exception.BusinessException;
 import com.draka.exception.ResourceNotFoundException;
+import com.draka.metrics.EnrollmentMetrics;
+import com.draka.metrics.StatementCountingInspector;
+import com.draka.metrics.jfr.ApprovalEvent;
+import com.draka.metrics.jfr.CommitEvents;
+import com.draka.metrics.jfr.EnrollmentEvent;
+import com.draka.metrics.jfr.EnrollmentValidationEvent;
 import com.draka.repository.AllocationRepository;
 import com.draka.repository.CourseRepository;
 import com.draka.repository.StudentRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for Course Allocation (enrollment) management.
@@ -33,57 +60,97 @@ public class AllocationService {
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EnrollmentMetrics enrollmentMetrics;
+    
     /**
-     * Get all allocations.
+     * Get a keyset page of allocations; null filters are ignored.
      */
-    public List<Allocation> getAllAllocations() {
-        return allocationRepository.findAll();
+    public CursorPage<Allocation> getAllocationsPage(AllocationStatus status, Long courseId, Long semesterId,
+                                                     Long departmentId, Long lecturerId,
+                                                     Long cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        List<Allocation> rows = allocationRepository.findPage(CursorPage.after(cursor), status, courseId,
+                semesterId, departmentId, lecturerId, CursorPage.limit(pageSize));
+        return CursorPage.of(rows, pageSize, Allocation::getId);
     }
     
     /**
-     * Get allocation by ID.
+     * Get a keyset page of allocation summaries; null filters are ignored.
      */
-    public Allocation getAllocationById(Long id) {
-        return allocationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Allocation", "id", id));
+    public CursorPage<AllocationSummary> getAllocationSummaryPage(AllocationStatus status, Long courseId,
+                                                                  Long lecturerId, Long cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        List<AllocationSummary> rows = allocationRepository.findSummaryPage(CursorPage.after(cursor), status,
+                courseId, lecturerId, CursorPage.limit(pageSize));
+        return CursorPage.of(rows, pageSize, AllocationSummary::getId);
     }
     
     /**
-     * Get allocations by student.
+     * Get allocation by ID, with the student and course it serializes.
      */
-    public List<Allocation> getAllocationsByStudent(Long studentId) {
-        return allocationRepository.findByStudentId(studentId);
+    public Allocation getAllocationById(Long id) {
+        return allocationRepository.findWithDetailsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Allocation", "id", id));
     }
     
     /**
-     * Get allocations by course.
+     * Get allocation summaries for a student; a null status returns all of them.
      */
-    public List<Allocation> getAllocationsByCourse(Long courseId) {
-        return allocationRepository.findByCourseId(courseId);
+    public List<AllocationSummary> getAllocationSummariesByStudent(Long studentId, AllocationStatus status) {
+        return allocationRepository.findSummariesByStudent(studentId, status);
     }
     
     /**
-     * Get allocations for lecturer's courses.
+     * Student enrolls in a course.
      */
-    public List<Allocation> getAllocationsByLecturer(Long lecturerId) {
-        return allocationRepository.findByCourseLecturerId(lecturerId);
+    @Transactional
+    public Allocation enrollInCourse(Long studentId, EnrollmentRequest request) {
+        return enrollWithinTransaction(studentId, request);
     }
     
     /**
-     * Get pending allocations for lecturer's courses.
+     * Enrollment logic without its own transaction boundary.
+     * The caller must already hold a transaction. Business rule violations are thrown
+     * before anything is written, so a batching caller can catch them without
+     * poisoning the surrounding transaction.
      */
-    public List<Allocation> getPendingAllocationsForLecturer(Long lecturerId) {
-        List<Allocation> allAllocations = allocationRepository.findByCourseLecturerId(lecturerId);
-        return allAllocations.stream()
-                .filter(a -> a.getStatus() == AllocationStatus.PENDING)
-                .toList();
+    public Allocation enrollWithinTransaction(Long studentId, EnrollmentRequest request) {
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.studentId = studentId;
+        event.courseId = request.getCourseId();
+        int statementsBefore = StatementCountingInspector.current();
+        event.begin();
+        CommitEvents.recordCommit("enrollment");
+        try {
+            Allocation allocation = enroll(studentId, request);
+            event.outcome = allocation.getStatus().name();
+            return allocation;
+        } catch (BusinessException e) {
+            event.outcome = "rejected";
+            throw e;
+        } catch (ResourceNotFoundException e) {
+            event.outcome = "not_found";
+            throw e;
+        } catch (RuntimeException e) {
+            event.outcome = "error";
+            throw e;
+        } finally {
+            event.sqlCount = StatementCountingInspector.current() - statementsBefore;
+            event.commit();
+        }
     }
     
-    /**
-     * Student enrolls in a course.
-     */
-    @Transactional
-    public Allocation enrollInCourse(Long studentId, EnrollmentRequest request) {
+    private Allocation enroll(Long studentId, EnrollmentRequest request) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student", "id", studentId));
         
@@ -91,56 +158,120 @@ public class AllocationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", request.getCourseId()));
         
         // Business rule validations
+        enrollmentMetrics.requested();
         validateEnrollment(student, course);
         
         Allocation allocation = new Allocation();
         allocation.setStudent(student);
         allocation.setCourse(course);
-        allocation.setStatus(AllocationStatus.PENDING);
         allocation.setStudentComment(request.getComment());
         
+        // A full course puts the request on its waitlist instead of rejecting it
+        // (the seat counter is authoritative, see claimSeat). So does a non-empty waitlist,
+        // so a seat freed by a drop goes to the head of the queue, not to a newcomer.
+        if (course.getCurrentEnrollment() >= course.getMaxCapacity()
+                || course.getWaitlistHead() <= course.getWaitlistTail()) {
+            courseRepository.incrementWaitlistTail(course.getId());
+            evictCourse(course.getId());
+            allocation.setStatus(AllocationStatus.WAITLISTED);
+            allocation.setWaitlistSequence(courseRepository.findWaitlistTail(course.getId()));
+            enrollmentMetrics.waitlisted();
+        } else {
+            allocation.setStatus(AllocationStatus.PENDING);
+        }
+        
         return allocationRepository.save(allocation);
     }
     
     /**
      * Validate enrollment business rules.
+     * Package-private for the benchmarks in src/jmh/java.
      */
-    private void validateEnrollment(Student student, Course course) {
-        // Check if student already enrolled in this course
-        if (allocationRepository.existsByStudentIdAndCourseId(student.getId(), course.getId())) {
-            throw new BusinessException("You are already enrolled or have a pending request for this course");
-        }
-        
-        // Check if course is active
-        if (!course.getIsActive()) {
-            throw new BusinessException("This course is not currently accepting enrollments");
-        }
-        
-        // Check if course has an assigned lecturer
-        if (course.getLecturer() == null) {
-            throw new BusinessException("This course does not have an assigned lecturer yet");
-        }
-        
-        // Check if student meets GPA requirement
-        if (student.getGpa() < course.getMinimumGpa()) {
-            throw new BusinessException(
-                    String.format("Your GPA (%.2f) does not meet the minimum requirement (%.2f) for this course",
-                            student.getGpa(), course.getMinimumGpa()));
-        }
-        
-        // Check if course is at capacity
-        Long approvedCount = allocationRepository.countByCourseIdAndStatus(
-                course.getId(), AllocationStatus.APPROVED);
-        if (approvedCount >= course.getMaxCapacity()) {
-            throw new BusinessException("This course has reached its maximum capacity");
+    void validateEnrollment(Student student, Course course) {
+        EnrollmentValidationEvent event = new EnrollmentValidationEvent();
+        event.courseId = course.getId();
+        int statementsBefore = StatementCountingInspector.current();
+        event.begin();
+        try {
+            // Check if student already enrolled in this course
+            if (allocationRepository.existsByStudentIdAndCourseId(student.getId(), course.getId())) {
+                throw rejection(event, EnrollmentMetrics.REASON_DUPLICATE,
+                        "You are already enrolled or have a pending request for this course");
+            }
+            
+            // Check if course is active
+            if (!course.getIsActive()) {
+                throw rejection(event, EnrollmentMetrics.REASON_COURSE_INACTIVE,
+                        "This course is not currently accepting enrollments");
+            }
+            
+            // Check if course has an assigned lecturer
+            if (course.getLecturer() == null) {
+                throw rejection(event, EnrollmentMetrics.REASON_NO_LECTURER,
+                        "This course does not have an assigned lecturer yet");
+            }
+            
+            // Check if student meets GPA requirement
+            if (student.getGpa() < course.getMinimumGpa()) {
+                throw rejection(event, EnrollmentMetrics.REASON_GPA,
+                        String.format("Your GPA (%.2f) does not meet the minimum requirement (%.2f) for this course",
+                                student.getGpa(), course.getMinimumGpa()));
+            }
+            
+            event.outcome = "ok";
+        } finally {
+            event.sqlCount = StatementCountingInspector.current() - statementsBefore;
+            event.commit();
         }
     }
     
+    private BusinessException rejection(EnrollmentValidationEvent event, String reason, String message) {
+        enrollmentMetrics.rejected(reason);
+        event.outcome = reason;
+        return new BusinessException(message);
+    }
+    
     /**
      * Lecturer approves or denies enrollment request.
      */
     @Transactional
     public Allocation processEnrollmentRequest(ApprovalRequest request) {
+        return processWithinTransaction(request);
+    }
+    
+    /**
+     * Approval logic without its own transaction boundary.
+     * Like {@link #enrollWithinTransaction}, all rule checks (including the seat claim)
+     * happen before the allocation is modified.
+     */
+    public Allocation processWithinTransaction(ApprovalRequest request) {
+        ApprovalEvent event = new ApprovalEvent();
+        event.allocationId = request.getAllocationId();
+        event.status = request.getStatus() != null ? request.getStatus().name() : null;
+        int statementsBefore = StatementCountingInspector.current();
+        event.begin();
+        CommitEvents.recordCommit("approval");
+        try {
+            Allocation allocation = process(request);
+            event.courseId = allocation.getCourse().getId();
+            event.outcome = allocation.getStatus().name();
+            return allocation;
+        } catch (BusinessException e) {
+            event.outcome = "rejected";
+            throw e;
+        } catch (ResourceNotFoundException e) {
+            event.outcome = "not_found";
+            throw e;
+        } catch (RuntimeException e) {
+            event.outcome = "error";
+            throw e;
+        } finally {
+            event.sqlCount = StatementCountingInspector.current() - statementsBefore;
+            event.commit();
+        }
+    }
+    
+    private Allocation process(ApprovalRequest request) {
         Allocation allocation = getAllocationById(request.getAllocationId());
         
         // Validate that allocation is in PENDING status
@@ -154,20 +285,203 @@ public class AllocationService {
             throw new BusinessException("Status must be either APPROVED or DENIED");
         }
         
-        allocation.setStatus(request.getStatus());
-        allocation.setLecturerComment(request.getComment());
+        // Seat first, then the allocation, in the same order as processEnrollmentRequests so the
+        // two paths never wait on each other's rows
+        boolean approve = request.getStatus() == AllocationStatus.APPROVED;
+        Course course = allocation.getCourse();
+        if (approve) {
+            if (courseRepository.claimSeat(course.getId()) == 0) {
+                throw new BusinessException("This course has reached its maximum capacity");
+            }
+            evictCourse(course.getId());
+        }
         
-        if (request.getStatus() == AllocationStatus.APPROVED) {
-            allocation.setApprovedAt(LocalDateTime.now());
-            // Increment course enrollment count
-            Course course = allocation.getCourse();
+        // The PENDING guard lets exactly one of several concurrent approvals or denials through;
+        // the others give their seat back and leave nothing else written
+        LocalDateTime now = LocalDateTime.now();
+        if (allocationRepository.decidePending(allocation.getId(), AllocationStatus.PENDING, request.getStatus(),
+                request.getComment(), approve ? now : null, approve ? null : now, now) == 0) {
+            if (approve) {
+                courseRepository.releaseSeat(course.getId());
+            }
+            throw new BusinessException("This enrollment request has already been processed");
+        }
+        
+        detach(allocation, request.getStatus(), now);
+        allocation.setLecturerComment(request.getComment());
+        if (approve) {
             course.setCurrentEnrollment(course.getCurrentEnrollment() + 1);
-            courseRepository.save(course);
+            allocation.setApprovedAt(now);
+            enrollmentMetrics.approved(1);
         } else {
-            allocation.setDeniedAt(LocalDateTime.now());
+            allocation.setDeniedAt(now);
+            enrollmentMetrics.denied(1);
         }
+        return allocation;
+    }
+    
+    /**
+     * Lecturer approves or denies many enrollment requests at once.
+     * Validation is one query, seats are claimed per course with one conditional update,
+     * and status changes are applied as JDBC batches. Each item gets its own result,
+     * in request order; failed items do not affect the others.
+     */
+    @Transactional
+    public List<BulkApprovalResult> processEnrollmentRequests(List<ApprovalRequest> requests) {
+        BulkApprovalResult[] results = new BulkApprovalResult[requests.size()];
+        Set<Long> ids = requests.stream().map(ApprovalRequest::getAllocationId).collect(Collectors.toSet());
+        Map<Long, AllocationStatusView> views = allocationRepository.findStatusViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(AllocationStatusView::getId, Function.identity()));
         
-        return allocationRepository.save(allocation);
+        Map<Long, List<Integer>> approvalsByCourse = new LinkedHashMap<>();
+        List<Integer> denials = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ApprovalRequest request = requests.get(i);
+            AllocationStatusView view = views.get(request.getAllocationId());
+            if (!seen.add(request.getAllocationId())) {
+                results[i] = failure(request, "Duplicate allocation in request");
+            } else if (view == null) {
+                results[i] = failure(request, "Allocation not found with id: '" + request.getAllocationId() + "'");
+            } else if (view.getStatus() != AllocationStatus.PENDING) {
+                results[i] = failure(request, "This enrollment request has already been processed");
+            } else if (request.getStatus() == AllocationStatus.APPROVED) {
+                approvalsByCourse.computeIfAbsent(view.getCourseId(), k -> new ArrayList<>()).add(i);
+            } else if (request.getStatus() == AllocationStatus.DENIED) {
+                denials.add(i);
+            } else {
+                results[i] = failure(request, "Status must be either APPROVED or DENIED");
+            }
+        }
+        
+        // Claim seats per course; approvals beyond the free seats fail in request order
+        List<Integer> approvals = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> entry : approvalsByCourse.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            int granted = claimAvailableSeats(entry.getKey(), indexes.size());
+            approvals.addAll(indexes.subList(0, granted));
+            for (Integer i : indexes.subList(granted, indexes.size())) {
+                results[i] = failure(requests.get(i), "This course has reached its maximum capacity");
+            }
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        int[] approvedCounts = batchUpdateStatus(requests, approvals, AllocationStatus.APPROVED, "approved_at", now);
+        int[] deniedCounts = batchUpdateStatus(requests, denials, AllocationStatus.DENIED, "denied_at", now);
+        
+        // Requests processed concurrently since validation are reported, and their seats given back
+        Map<Long, Integer> seatsToRelease = new HashMap<>();
+        int approvedTotal = 0;
+        for (int k = 0; k < approvals.size(); k++) {
+            ApprovalRequest request = requests.get(approvals.get(k));
+            if (approvedCounts[k] == 0) {
+                results[approvals.get(k)] = failure(request, "This enrollment request has already been processed");
+                seatsToRelease.merge(views.get(request.getAllocationId()).getCourseId(), 1, Integer::sum);
+            } else {
+                results[approvals.get(k)] = new BulkApprovalResult(
+                        request.getAllocationId(), true, AllocationStatus.APPROVED, null);
+                approvedTotal++;
+            }
+        }
+        seatsToRelease.forEach((courseId, seats) -> {
+            courseRepository.releaseSeats(courseId, seats);
+            evictCourse(courseId);
+        });
+        
+        int deniedTotal = 0;
+        for (int k = 0; k < denials.size(); k++) {
+            ApprovalRequest request = requests.get(denials.get(k));
+            if (deniedCounts[k] == 0) {
+                results[denials.get(k)] = failure(request, "This enrollment request has already been processed");
+            } else {
+                results[denials.get(k)] = new BulkApprovalResult(
+                        request.getAllocationId(), true, AllocationStatus.DENIED, null);
+                deniedTotal++;
+            }
+        }
+        enrollmentMetrics.approved(approvedTotal);
+        enrollmentMetrics.denied(deniedTotal);
+        
+        return Arrays.asList(results);
+    }
+    
+    /**
+     * Approve a course's pending requests up to its free capacity, highest GPA first.
+     */
+    @Transactional
+    public List<BulkApprovalResult> approveAllPending(Long courseId, String comment) {
+        int available = courseRepository.findAvailableSeats(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
+        if (available <= 0) {
+            return List.of();
+        }
+        
+        List<ApprovalRequest> requests = allocationRepository.findIdsByCourseIdAndStatusOrderByGpa(
+                        courseId, AllocationStatus.PENDING, PageRequest.of(0, available))
+                .stream()
+                .map(id -> new ApprovalRequest(id, AllocationStatus.APPROVED, comment))
+                .toList();
+        return requests.isEmpty() ? List.of() : processEnrollmentRequests(requests);
+    }
+    
+    /**
+     * Claim up to the requested number of seats, settling for fewer when the course is nearly full.
+     *
+     * @return number of seats actually claimed
+     */
+    private int claimAvailableSeats(Long courseId, int requested) {
+        int wanted = requested;
+        while (wanted > 0) {
+            if (courseRepository.claimSeats(courseId, wanted) > 0) {
+                evictCourse(courseId);
+                return wanted;
+            }
+            wanted = Math.min(wanted, courseRepository.findAvailableSeats(courseId).orElse(0));
+        }
+        return 0;
+    }
+    
+    /**
+     * Apply one status change to many allocations as a single JDBC batch.
+     * The PENDING guard makes each row's update count report whether it was still pending.
+     */
+    private int[] batchUpdateStatus(List<ApprovalRequest> requests, List<Integer> indexes,
+                                    AllocationStatus status, String timestampColumn, LocalDateTime now) {
+        if (indexes.isEmpty()) {
+            return new int[0];
+        }
+        List<Object[]> args = new ArrayList<>(indexes.size());
+        for (Integer i : indexes) {
+            ApprovalRequest request = requests.get(i);
+            args.add(new Object[] {status.name(), request.getComment(), now, now, request.getAllocationId()});
+        }
+        return jdbcTemplate.batchUpdate(
+                "UPDATE allocations SET status = ?, lecturer_comment = ?, " + timestampColumn + " = ?, updated_at = ? " +
+                "WHERE id = ? AND status = 'PENDING'", args);
+    }
+    
+    /**
+     * Drop one course from the second-level cache after a seat or waitlist counter update.
+     * The counter updates leave the course region alone (see CourseRepository#SEAT_COUNTERS),
+     * so evict the entry now and again once the transaction ends, in case a concurrent read
+     * cached the counters from before our commit. CourseService calls this after its own
+     * course updates, which would otherwise re-cache the counters they loaded.
+     */
+    void evictCourse(Long courseId) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Course.class, courseId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Course.class, courseId);
+                }
+            });
+        }
+    }
+    
+    private BulkApprovalResult failure(ApprovalRequest request, String message) {
+        return new BulkApprovalResult(request.getAllocationId(), false, null, message);
     }
     
     /**
@@ -184,21 +498,61 @@ public class AllocationService {
             throw new BusinessException("You can only drop courses that have been approved");
         }
         
-        allocation.setStatus(AllocationStatus.DROPPED);
-        allocation.setDroppedAt(LocalDateTime.now());
+        // Only the drop that moves the allocation out of APPROVED releases its seat
+        LocalDateTime now = LocalDateTime.now();
+        if (allocationRepository.dropApproved(allocation.getId(), AllocationStatus.APPROVED,
+                AllocationStatus.DROPPED, now) == 0) {
+            throw new BusinessException("You can only drop courses that have been approved");
+        }
+        detach(allocation, AllocationStatus.DROPPED, now);
+        allocation.setDroppedAt(now);
+        enrollmentMetrics.dropped();
         
-        // Decrement course enrollment count
+        // Release the seat and hand it to the head of the waitlist
         Course course = allocation.getCourse();
-        course.setCurrentEnrollment(Math.max(0, course.getCurrentEnrollment() - 1));
-        courseRepository.save(course);
+        if (courseRepository.releaseSeat(course.getId()) > 0) {
+            course.setCurrentEnrollment(Math.max(0, course.getCurrentEnrollment() - 1));
+            evictCourse(course.getId());
+            promoteFromWaitlist(course.getId(), 1);
+        }
         
-        return allocationRepository.save(allocation);
+        return allocation;
+    }
+    
+    /**
+     * Detach an allocation after a guarded status update wrote its row, so changes made to it
+     * for the response are never flushed back over the row; then mirror the new status.
+     */
+    private void detach(Allocation allocation, AllocationStatus status, LocalDateTime now) {
+        entityManager.detach(allocation);
+        allocation.setStatus(status);
+        allocation.setUpdatedAt(now);
+    }
+    
+    /**
+     * Promote up to {@code count} waitlisted requests, in order, back to PENDING for lecturer review.
+     * Each promotion takes the head with one conditional update on the course row, so concurrent
+     * drops never promote the same request twice, and finds the entry through the waitlist index.
+     *
+     * @return number of requests promoted
+     */
+    @Transactional
+    public int promoteFromWaitlist(Long courseId, int count) {
+        int promoted = 0;
+        while (promoted < count && courseRepository.advanceWaitlistHead(courseId) > 0) {
+            evictCourse(courseId);
+            Long sequence = courseRepository.findWaitlistHead(courseId) - 1;
+            promoted += allocationRepository.promoteWaitlistEntry(courseId, sequence,
+                    AllocationStatus.WAITLISTED, AllocationStatus.PENDING, LocalDateTime.now());
+        }
+        return promoted;
     }
     
     /**
-     * Get enrolled (approved) courses for a student.
+     * Get a student's 1-based position on a course waitlist.
      */
-    public List<Allocation> getEnrolledCourses(Long studentId) {
-        return allocationRepository.findByStudentIdAndStatus(studentId, AllocationStatus.APPROVED);
+    public Long getWaitlistPosition(Long studentId, Long courseId) {
+        return allocationRepository.findWaitlistPosition(studentId, courseId, AllocationStatus.WAITLISTED)
+                .orElseThrow(() -> new ResourceNotFoundException("You are not on the waitlist for this course"));
     }
 }
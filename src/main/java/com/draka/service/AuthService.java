@@ -10,13 +10,16 @@ import com.draka.entity.User;
 import com.draka.enums.Role;
 import com.draka.exception.BusinessException;
 import com.draka.exception.ResourceNotFoundException;
+import com.draka.exception.ServiceUnavailableException;
 import com.draka.repository.DepartmentRepository;
 import com.draka.repository.LecturerRepository;
 import com.draka.repository.StudentRepository;
 import com.draka.repository.UserRepository;
 import com.draka.security.JwtUtils;
+import com.draka.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -51,16 +54,31 @@ public class AuthService {
     @Autowired
     private JwtUtils jwtUtils;
     
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
     /**
      * Authenticate user and return JWT token.
      */
     public JwtResponse login(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(),
-                        loginRequest.getPassword()
-                )
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsername(),
+                            loginRequest.getPassword()
+                    )
+            );
+        } catch (InternalAuthenticationServiceException e) {
+            // A saturated hashing pool during the user lookup surfaces wrapped; keep it a 503
+            if (e.getCause() instanceof ServiceUnavailableException serviceUnavailable) {
+                throw serviceUnavailable;
+            }
+            throw e;
+        }
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
@@ -128,6 +146,35 @@ public class AuthService {
         return user;
     }
     
+    /**
+     * Enable or disable a user account (Admin only).
+     * Existing tokens of a disabled user stop working once the change commits.
+     */
+    @Transactional
+    public User setUserEnabled(Long id, boolean enabled) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        user.setEnabled(enabled);
+        user = userRepository.save(user);
+        userDetailsCache.evictAfterCommit(user.getUsername());
+        if (!enabled) {
+            // Also covers stateless mode, where the account state is not re-read per request
+            tokenRevocationService.revokeAllForUser(user.getUsername());
+        }
+        return user;
+    }
+    
+    /**
+     * Revoke every token issued to a user so far (Admin only).
+     */
+    @Transactional
+    public User revokeUserTokens(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        tokenRevocationService.revokeAllForUser(user.getUsername());
+        return user;
+    }
+    
     /**
      * Create Student entity.
      */
@@ -2,6 +2,8 @@ package com.draka.service;
 
 import com.draka.dto.AssignLecturerRequest;
 import com.draka.dto.CourseRequest;
+import com.draka.dto.CourseSummary;
+import com.draka.dto.CursorPage;
 import com.draka.entity.Course;
 import com.draka.entity.Department;
 import com.draka.entity.Lecturer;
@@ -36,6 +38,9 @@ public class CourseService {
     @Autowired
     private LecturerRepository lecturerRepository;
     
+    @Autowired
+    private AllocationService allocationService;
+    
     /**
      * Get all courses.
      */
@@ -43,11 +48,33 @@ public class CourseService {
         return courseRepository.findAll();
     }
     
+    /**
+     * Get a keyset page of courses; null filters are ignored.
+     */
+    public CursorPage<Course> getCoursesPage(Long semesterId, Long departmentId, Long lecturerId,
+                                             Long cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        List<Course> rows = courseRepository.findPage(CursorPage.after(cursor), semesterId, departmentId,
+                lecturerId, CursorPage.limit(pageSize));
+        return CursorPage.of(rows, pageSize, Course::getId);
+    }
+    
+    /**
+     * Get a keyset page of course summaries; null filters are ignored.
+     */
+    public CursorPage<CourseSummary> getCourseSummaryPage(Long semesterId, Long lecturerId,
+                                                          Long cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        List<CourseSummary> rows = courseRepository.findSummaryPage(CursorPage.after(cursor), semesterId,
+                lecturerId, CursorPage.limit(pageSize));
+        return CursorPage.of(rows, pageSize, CourseSummary::getId);
+    }
+    
     /**
      * Get course by ID.
      */
     public Course getCourseById(Long id) {
-        return courseRepository.findById(id)
+        return courseRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
     }
     
@@ -73,10 +100,10 @@ public class CourseService {
     }
     
     /**
-     * Get eligible courses for a student based on GPA and active semester.
+     * Get eligible course summaries for a student.
      */
-    public List<Course> getEligibleCoursesForStudent(Double studentGpa, Long semesterId) {
-        return courseRepository.findEligibleCoursesForStudent(studentGpa, semesterId);
+    public List<CourseSummary> getEligibleCourseSummaries(Long studentId, Long semesterId) {
+        return courseRepository.findEligibleSummaries(studentId, semesterId);
     }
     
     /**
@@ -84,7 +111,7 @@ public class CourseService {
      */
     @Transactional
     public Course createCourse(CourseRequest request) {
-        Department department = departmentRepository.findById(request.getDepartmentId())
+        Department department = departmentRepository.findWithHodById(request.getDepartmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", request.getDepartmentId()));
         
         Semester semester = semesterRepository.findById(request.getSemesterId())
@@ -104,7 +131,7 @@ public class CourseService {
         
         // Optionally assign lecturer during creation
         if (request.getLecturerId() != null) {
-            Lecturer lecturer = lecturerRepository.findById(request.getLecturerId())
+            Lecturer lecturer = lecturerRepository.findWithDetailsById(request.getLecturerId())
                     .orElseThrow(() -> new ResourceNotFoundException("Lecturer", "id", request.getLecturerId()));
             course.setLecturer(lecturer);
         }
@@ -119,12 +146,14 @@ public class CourseService {
     public Course updateCourse(Long id, CourseRequest request) {
         Course course = getCourseById(id);
         
-        Department department = departmentRepository.findById(request.getDepartmentId())
+        Department department = departmentRepository.findWithHodById(request.getDepartmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", request.getDepartmentId()));
         
         Semester semester = semesterRepository.findById(request.getSemesterId())
                 .orElseThrow(() -> new ResourceNotFoundException("Semester", "id", request.getSemesterId()));
         
+        int addedSeats = request.getMaxCapacity() - course.getMaxCapacity();
+        
         course.setCourseCode(request.getCourseCode());
         course.setCourseName(request.getCourseName());
         course.setDescription(request.getDescription());
@@ -136,12 +165,22 @@ public class CourseService {
         course.setIsActive(request.getIsActive());
         
         if (request.getLecturerId() != null) {
-            Lecturer lecturer = lecturerRepository.findById(request.getLecturerId())
+            Lecturer lecturer = lecturerRepository.findWithDetailsById(request.getLecturerId())
                     .orElseThrow(() -> new ResourceNotFoundException("Lecturer", "id", request.getLecturerId()));
             course.setLecturer(lecturer);
         }
         
-        return courseRepository.save(course);
+        course = courseRepository.save(course);
+        // The counters are not updatable through the entity, but the cache update on commit
+        // would store the ones loaded above; evict so the next read takes them from the row
+        allocationService.evictCourse(course.getId());
+        
+        // Raised capacity opens seats for the waitlist
+        if (addedSeats > 0) {
+            allocationService.promoteFromWaitlist(course.getId(), addedSeats);
+        }
+        
+        return course;
     }
     
     /**
@@ -150,11 +189,13 @@ public class CourseService {
     @Transactional
     public Course assignLecturer(AssignLecturerRequest request) {
         Course course = getCourseById(request.getCourseId());
-        Lecturer lecturer = lecturerRepository.findById(request.getLecturerId())
+        Lecturer lecturer = lecturerRepository.findWithDetailsById(request.getLecturerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Lecturer", "id", request.getLecturerId()));
         
         course.setLecturer(lecturer);
-        return courseRepository.save(course);
+        course = courseRepository.save(course);
+        allocationService.evictCourse(course.getId());
+        return course;
     }
     
     /**
@@ -164,7 +205,9 @@ public class CourseService {
     public Course updateGpaRequirement(Long courseId, Double minimumGpa) {
         Course course = getCourseById(courseId);
         course.setMinimumGpa(minimumGpa);
-        return courseRepository.save(course);
+        course = courseRepository.save(course);
+        allocationService.evictCourse(course.getId());
+        return course;
     }
     
     /**
@@ -4,6 +4,7 @@ import com.draka.entity.User;
 import com.draka.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,10 +12,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * UserDetailsService implementation for Spring Security.
- * Loads user-specific data during authentication.
+ * Loads user-specific data during authentication, and stores re-encoded password
+ * hashes when the configured BCrypt cost has been raised.
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
@@ -28,4 +30,14 @@ public class CustomUserDetailsService implements UserDetailsService {
         
         return user;
     }
+    
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> 
+                    new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        return userRepository.save(user);
+    }
 }
@@ -1,6 +1,7 @@
 package com.draka.service;
 
 import com.draka.dto.DepartmentRequest;
+import com.draka.dto.DepartmentSummary;
 import com.draka.entity.Department;
 import com.draka.entity.User;
 import com.draka.exception.BusinessException;
@@ -32,11 +33,26 @@ public class DepartmentService {
         return departmentRepository.findAll();
     }
     
+    /**
+     * Get all departments with headcounts.
+     */
+    public List<DepartmentSummary> getDepartmentSummaries() {
+        return departmentRepository.findAllSummaries();
+    }
+    
+    /**
+     * Get department with headcounts by ID.
+     */
+    public DepartmentSummary getDepartmentSummary(Long id) {
+        return departmentRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id));
+    }
+    
     /**
      * Get department by ID.
      */
     public Department getDepartmentById(Long id) {
-        return departmentRepository.findById(id)
+        return departmentRepository.findWithHodById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id));
     }
     
@@ -0,0 +1,239 @@
+package com.draka.service;
+
+import com.draka.dto.AllocationSummary;
+import com.draka.dto.ApprovalRequest;
+import com.draka.dto.EnrollmentRequest;
+import com.draka.exception.BusinessException;
+import com.draka.exception.ResourceNotFoundException;
+import com.draka.exception.ServiceUnavailableException;
+import com.draka.metrics.EnrollmentMetrics;
+import com.draka.repository.AllocationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Optional single-writer execution mode for enrollment commands.
+ *
+ * Commands are hash-partitioned by course id onto a fixed set of queues. Each queue is
+ * drained by one worker thread that applies a batch of commands in a single transaction,
+ * so writes to a hot course row never contend with each other and the commit cost is
+ * shared across the batch. Business rules still run in {@link AllocationService}, and
+ * results are summarized inside the transaction since associations are lazy.
+ *
+ * Enabled with {@code enrollment.pipeline.enabled=true}; when disabled, commands run
+ * synchronously on the caller's thread exactly as before.
+ */
+@Service
+public class EnrollmentPipeline {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentPipeline.class);
+    
+    @Autowired
+    private AllocationService allocationService;
+    
+    @Autowired
+    private AllocationRepository allocationRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private EnrollmentMetrics enrollmentMetrics;
+    
+    @Value("${enrollment.pipeline.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${enrollment.pipeline.partitions:8}")
+    private int partitionCount;
+    
+    @Value("${enrollment.pipeline.batch-size:64}")
+    private int batchSize;
+    
+    @Value("${enrollment.pipeline.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${enrollment.pipeline.shutdown-timeout:5000}")
+    private long shutdownTimeoutMs;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    private Partition[] partitions;
+    
+    private volatile boolean stopping;
+    
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (!enabled) {
+            return;
+        }
+        partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i);
+            partitions[i].worker.start();
+        }
+        logger.info("Enrollment pipeline started with {} partitions", partitionCount);
+    }
+    
+    /**
+     * Stop the workers, letting in-flight batches finish, and fail every command still queued
+     * so no caller waits on a future that will never complete.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (partitions == null) {
+            return;
+        }
+        stopping = true;
+        for (Partition partition : partitions) {
+            partition.worker.interrupt();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        for (Partition partition : partitions) {
+            TimeUnit.NANOSECONDS.timedJoin(partition.worker, Math.max(1, deadline - System.nanoTime()));
+            List<Command> abandoned = new ArrayList<>();
+            partition.queue.drainTo(abandoned);
+            abandoned.forEach(this::reject);
+        }
+        logger.info("Enrollment pipeline stopped");
+    }
+    
+    /**
+     * Submit a student enrollment for the course in the request.
+     */
+    public CompletableFuture<AllocationSummary> submitEnrollment(Long studentId, EnrollmentRequest request) {
+        return submit(request.getCourseId(),
+                () -> AllocationSummary.from(allocationService.enrollWithinTransaction(studentId, request)));
+    }
+    
+    /**
+     * Submit a lecturer approval/denial, routed by the allocation's course.
+     */
+    public CompletableFuture<AllocationSummary> submitApproval(ApprovalRequest request) {
+        if (!enabled) {
+            return submit(null, () -> AllocationSummary.from(allocationService.processWithinTransaction(request)));
+        }
+        Long courseId = allocationRepository.findCourseIdById(request.getAllocationId())
+                .orElseThrow(() -> new ResourceNotFoundException("Allocation", "id", request.getAllocationId()));
+        return submit(courseId, () -> AllocationSummary.from(allocationService.processWithinTransaction(request)));
+    }
+    
+    private CompletableFuture<AllocationSummary> submit(Long courseId, Supplier<AllocationSummary> action) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(transactionTemplate.execute(status -> action.get()));
+        }
+        if (stopping) {
+            throw shuttingDown();
+        }
+        Command command = new Command(action, new CompletableFuture<>());
+        Partition partition = partitions[Math.floorMod(courseId.hashCode(), partitions.length)];
+        if (!partition.queue.offer(command)) {
+            throw new ServiceUnavailableException("Enrollment queue is full, please retry shortly", 1);
+        }
+        // Offered while stop() was draining: take it back unless a worker or stop() already has it
+        if (stopping && partition.queue.remove(command)) {
+            reject(command);
+        }
+        return command.future;
+    }
+    
+    private void reject(Command command) {
+        command.future.completeExceptionally(shuttingDown());
+    }
+    
+    private ServiceUnavailableException shuttingDown() {
+        return new ServiceUnavailableException("Enrollment service is shutting down, please retry shortly", 1);
+    }
+    
+    /**
+     * Apply a batch in one transaction. Rule violations are collected per command; any other
+     * failure aborts the batch and each command is retried in its own transaction. Commands
+     * the batch already ran are retried without counting their request again.
+     */
+    private void runBatch(List<Command> batch) {
+        AllocationSummary[] results = new AllocationSummary[batch.size()];
+        RuntimeException[] errors = new RuntimeException[batch.size()];
+        int[] attempted = new int[1];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    attempted[0] = i + 1;
+                    try {
+                        results[i] = batch.get(i).action.get();
+                    } catch (BusinessException | ResourceNotFoundException e) {
+                        errors[i] = e;
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Enrollment batch of {} failed, retrying individually", batch.size(), e);
+            for (int i = 0; i < batch.size(); i++) {
+                Command command = batch.get(i);
+                boolean counted = i < attempted[0];
+                try {
+                    command.future.complete(transactionTemplate.execute(status -> counted
+                            ? enrollmentMetrics.recounting(command.action)
+                            : command.action.get()));
+                } catch (RuntimeException ex) {
+                    command.future.completeExceptionally(ex);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (errors[i] != null) {
+                batch.get(i).future.completeExceptionally(errors[i]);
+            } else {
+                batch.get(i).future.complete(results[i]);
+            }
+        }
+    }
+    
+    private record Command(Supplier<AllocationSummary> action, CompletableFuture<AllocationSummary> future) {
+    }
+    
+    private class Partition {
+        
+        private final BlockingQueue<Command> queue = new ArrayBlockingQueue<>(queueCapacity);
+        
+        private final Thread worker;
+        
+        Partition(int index) {
+            worker = new Thread(this::drain, "enrollment-pipeline-" + index);
+            worker.setDaemon(true);
+        }
+        
+        private void drain() {
+            List<Command> batch = new ArrayList<>(batchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, batchSize - 1);
+                    runBatch(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    logger.error("Enrollment pipeline worker error", e);
+                    batch.forEach(command -> command.future.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.draka.service;
+
+import com.draka.dto.AllocationExportRow;
+import com.draka.enums.AllocationStatus;
+import com.draka.enums.ExportFormat;
+import com.draka.repository.AllocationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service for registrar exports.
+ * Rows are read through a forward-only database cursor and written straight to the
+ * output, so memory use stays flat no matter how many allocations are exported.
+ */
+@Service
+public class ExportService {
+    
+    private static final String CSV_HEADER = "allocation_id,status,student_number,first_name,last_name,email,gpa,"
+            + "course_code,course_name,department_code,semester,requested_at,approved_at";
+    
+    private static final int FLUSH_EVERY = 1000;
+    
+    @Autowired
+    private AllocationRepository allocationRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private TransactionTemplate readOnlyTransaction;
+    
+    private ObjectWriter rowWriter;
+    
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        rowWriter = objectMapper.writerFor(AllocationExportRow.class);
+    }
+    
+    /**
+     * Write allocations matching the filters to the output stream; null filters are ignored.
+     */
+    public void exportAllocations(Long semesterId, Long courseId, AllocationStatus status,
+                                  ExportFormat format, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(tx -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            try (Stream<AllocationExportRow> rows = allocationRepository.streamExportRows(semesterId, courseId, status)) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+                long count = 0;
+                Iterator<AllocationExportRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    AllocationExportRow row = iterator.next();
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        writer.write(rowWriter.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                    if (++count % FLUSH_EVERY == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
+    private void writeCsv(Writer writer, AllocationExportRow row) throws IOException {
+        writer.write(String.valueOf(row.getAllocationId()));
+        writer.write(',');
+        writer.write(row.getStatus().name());
+        writer.write(',');
+        writeCsvField(writer, row.getStudentNumber());
+        writer.write(',');
+        writeCsvField(writer, row.getFirstName());
+        writer.write(',');
+        writeCsvField(writer, row.getLastName());
+        writer.write(',');
+        writeCsvField(writer, row.getEmail());
+        writer.write(',');
+        writeCsvField(writer, row.getGpa());
+        writer.write(',');
+        writeCsvField(writer, row.getCourseCode());
+        writer.write(',');
+        writeCsvField(writer, row.getCourseName());
+        writer.write(',');
+        writeCsvField(writer, row.getDepartmentCode());
+        writer.write(',');
+        writeCsvField(writer, row.getSemesterName());
+        writer.write(',');
+        writeCsvField(writer, row.getRequestedAt());
+        writer.write(',');
+        writeCsvField(writer, row.getApprovedAt());
+        writer.write('\n');
+    }
+    
+    private void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,127 @@
+package com.draka.service;
+
+import com.draka.dto.FlightRecordingStatus;
+import com.draka.exception.BusinessException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service for on-demand Java Flight Recorder recordings, so an incident can be profiled
+ * without attaching a profiler. One recording is kept at a time; it includes the
+ * application's own events (package com.draka.metrics.jfr) alongside the JVM's.
+ */
+@Service
+public class FlightRecorderService {
+    
+    @Value("${jfr.max-age:PT15M}")
+    private Duration maxAge;
+    
+    @Value("${jfr.max-size:268435456}")
+    private long maxSizeBytes;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    private Recording recording;
+    
+    private String settings;
+    
+    /**
+     * Start a new recording with the given JDK settings ("default" or "profile"),
+     * discarding the previous one.
+     */
+    public FlightRecordingStatus start(String settingsName) {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new BusinessException("Unknown recording settings: " + settingsName);
+        }
+        
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                throw new BusinessException("A recording is already running");
+            }
+            if (recording != null) {
+                recording.close();
+            }
+            recording = new Recording(configuration);
+            recording.setName("draka-on-demand");
+            recording.setToDisk(true);
+            recording.setMaxAge(maxAge);
+            recording.setMaxSize(maxSizeBytes);
+            recording.start();
+            settings = settingsName;
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Stop the running recording; its data stays available for dumping.
+     */
+    public FlightRecordingStatus stop() {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() != RecordingState.RUNNING) {
+                throw new BusinessException("No recording is running");
+            }
+            recording.stop();
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Get the state of the current recording.
+     */
+    public FlightRecordingStatus getStatus() {
+        lock.lock();
+        try {
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Write the data recorded so far to a temporary .jfr file; the recording keeps running if it was.
+     * The caller deletes the file once it has been sent.
+     */
+    public Path dumpToFile() {
+        lock.lock();
+        try {
+            if (recording == null) {
+                throw new BusinessException("Nothing has been recorded yet");
+            }
+            Path file = Files.createTempFile("draka-", ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private FlightRecordingStatus status() {
+        if (recording == null) {
+            return new FlightRecordingStatus(null, null, null, null, null, null);
+        }
+        return new FlightRecordingStatus(recording.getId(), recording.getState().name(), settings,
+                recording.getStartTime(), recording.getStopTime(), recording.getSize());
+    }
+}
@@ -6,6 +6,7 @@ import com.draka.exception.BusinessException;
 import com.draka.exception.ResourceNotFoundException;
 import com.draka.repository.SemesterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +21,9 @@ public class SemesterService {
     @Autowired
     private SemesterRepository semesterRepository;
     
+    @Autowired
+    private ActiveSemesterHolder activeSemesterHolder;
+    
     /**
      * Get all semesters.
      */
@@ -39,7 +43,7 @@ public class SemesterService {
      * Get active semester.
      */
     public Semester getActiveSemester() {
-        return semesterRepository.findByIsActiveTrue()
+        return activeSemesterHolder.get()
                 .orElseThrow(() -> new ResourceNotFoundException("No active semester found"));
     }
     
@@ -50,7 +54,7 @@ public class SemesterService {
     public Semester createSemester(SemesterRequest request) {
         // If this semester is being set as active, deactivate all others
         if (Boolean.TRUE.equals(request.getIsActive())) {
-            deactivateAllSemesters();
+            deactivateOtherSemesters(null);
         }
         
         Semester semester = new Semester();
@@ -61,7 +65,7 @@ public class SemesterService {
         semester.setEndDate(request.getEndDate());
         semester.setIsActive(request.getIsActive());
         
-        return semesterRepository.save(semester);
+        return saveActiveState(semester);
     }
     
     /**
@@ -73,7 +77,7 @@ public class SemesterService {
         
         // If this semester is being set as active, deactivate all others
         if (Boolean.TRUE.equals(request.getIsActive()) && !semester.getIsActive()) {
-            deactivateAllSemesters();
+            deactivateOtherSemesters(id);
         }
         
         semester.setName(request.getName());
@@ -83,7 +87,7 @@ public class SemesterService {
         semester.setEndDate(request.getEndDate());
         semester.setIsActive(request.getIsActive());
         
-        return semesterRepository.save(semester);
+        return saveActiveState(semester);
     }
     
     /**
@@ -91,21 +95,47 @@ public class SemesterService {
      */
     @Transactional
     public Semester setActiveSemester(Long id) {
-        Semester semester = getSemesterById(id);
-        deactivateAllSemesters();
-        semester.setIsActive(true);
-        return semesterRepository.save(semester);
+        boolean exists = semesterRepository.lockActiveOrById(id).stream()
+                .anyMatch(semester -> semester.getId().equals(id));
+        if (!exists) {
+            throw new ResourceNotFoundException("Semester", "id", id);
+        }
+        try {
+            // The single-active index is checked row by row, so clear the current one before setting ours
+            semesterRepository.deactivateOthers(id);
+            semesterRepository.activate(id);
+        } catch (DataIntegrityViolationException e) {
+            throw concurrentActivation();
+        }
+        activeSemesterHolder.invalidateAfterCommit();
+        return getSemesterById(id);
     }
     
     /**
-     * Deactivate all semesters.
+     * Deactivate all active semesters except the given one, in one statement,
+     * holding the activation lock (see SemesterRepository#lockActiveOrById) until commit.
      */
-    private void deactivateAllSemesters() {
-        List<Semester> allSemesters = semesterRepository.findAll();
-        for (Semester s : allSemesters) {
-            s.setIsActive(false);
+    private void deactivateOtherSemesters(Long keepId) {
+        semesterRepository.lockActiveOrById(keepId);
+        semesterRepository.deactivateOthers(keepId);
+        activeSemesterHolder.invalidateAfterCommit();
+    }
+    
+    /**
+     * Save a semester and flush so a clash on the single-active index surfaces here.
+     */
+    private Semester saveActiveState(Semester semester) {
+        try {
+            Semester saved = semesterRepository.saveAndFlush(semester);
+            activeSemesterHolder.invalidateAfterCommit();
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw concurrentActivation();
         }
-        semesterRepository.saveAll(allSemesters);
+    }
+    
+    private BusinessException concurrentActivation() {
+        return new BusinessException("Another request changed the active semester while this one was saved, please try again");
     }
     
     /**
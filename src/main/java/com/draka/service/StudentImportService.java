@@ -0,0 +1,471 @@
+package com.draka.service;
+
+import com.draka.dto.StudentImportError;
+import com.draka.dto.StudentImportResult;
+import com.draka.entity.Department;
+import com.draka.entity.Student;
+import com.draka.entity.User;
+import com.draka.enums.Role;
+import com.draka.exception.BusinessException;
+import com.draka.repository.DepartmentRepository;
+import com.draka.repository.StudentRepository;
+import com.draka.repository.UserRepository;
+import com.draka.security.BoundedPasswordEncoder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Service for onboarding students in bulk from a CSV file.
+ *
+ * The whole file is checked before anything is written: field rules per row, duplicates
+ * within the file, then usernames, emails, student IDs and department codes against the
+ * database with one IN query per thousand values. Valid rows are then hashed in parallel
+ * on the password hashing pool and saved in chunks, one transaction per chunk, using JDBC
+ * batching. A chunk that fails is retried row by row so only the offending rows are
+ * reported. Invalid rows never stop the import; each one gets an entry in the result.
+ */
+@Service
+public class StudentImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentImportService.class);
+    
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+            "username", "email", "password", "first_name", "last_name", "student_id", "department_code");
+    
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${student-import.max-rows:50000}")
+    private int maxRows;
+    
+    @Value("${student-import.batch-size:500}")
+    private int batchSize;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Import students from a CSV stream with a header row. Required columns: username, email,
+     * password, first_name, last_name, student_id, department_code; optional: gpa,
+     * current_semester, year_of_study. Column order is free and unknown columns are ignored.
+     */
+    public StudentImportResult importCsv(InputStream csv) {
+        long start = System.nanoTime();
+        List<Row> rows = parse(csv);
+        
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            row.error = validate(row);
+            if (row.error == null) {
+                valid.add(row);
+            }
+        }
+        rejectDuplicatesInFile(valid);
+        valid = rejectExisting(valid);
+        Map<String, Department> departments = findDepartments(valid);
+        
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            List<Row> chunk = valid.subList(from, Math.min(valid.size(), from + batchSize));
+            List<String> hashes = passwordEncoder.encodeAll(chunk.stream().map(row -> row.password).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).passwordHash = hashes.get(i);
+            }
+            saveChunk(chunk, departments);
+        }
+        
+        List<StudentImportError> errors = rows.stream()
+                .filter(row -> row.error != null)
+                .map(row -> new StudentImportError(row.line, row.username, row.error))
+                .toList();
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Imported {} of {} students in {} ms", rows.size() - errors.size(), rows.size(), durationMillis);
+        return new StudentImportResult(rows.size(), rows.size() - errors.size(), errors.size(), durationMillis, errors);
+    }
+    
+    // ==================== Validation ====================
+    
+    private String validate(Row row) {
+        for (String column : REQUIRED_COLUMNS) {
+            if (row.value(column) == null) {
+                return column + " is required";
+            }
+        }
+        if (row.username.length() < 3 || row.username.length() > 50) {
+            return "Username must be between 3 and 50 characters";
+        }
+        if (row.email.length() > 100 || !EMAIL.matcher(row.email).matches()) {
+            return "Email should be valid";
+        }
+        if (row.password.length() < 6) {
+            return "Password must be at least 6 characters";
+        }
+        if (row.firstName.length() > 100 || row.lastName.length() > 100) {
+            return "Names must be at most 100 characters";
+        }
+        if (row.studentId.length() > 20) {
+            return "Student ID must be at most 20 characters";
+        }
+        try {
+            row.gpa = row.gpaText != null ? Double.parseDouble(row.gpaText) : 0.0;
+            row.currentSemester = row.currentSemesterText != null ? Integer.parseInt(row.currentSemesterText) : 1;
+            row.yearOfStudy = row.yearOfStudyText != null ? Integer.parseInt(row.yearOfStudyText) : 1;
+        } catch (NumberFormatException e) {
+            return "gpa, current_semester and year_of_study must be numbers";
+        }
+        if (row.gpa < 0.0 || row.gpa > 4.0) {
+            return "GPA must be between 0.0 and 4.0";
+        }
+        if (row.currentSemester < 1 || row.yearOfStudy < 1) {
+            return "current_semester and year_of_study must be positive";
+        }
+        return null;
+    }
+    
+    /**
+     * Keep the first row for each username, email and student ID in the file.
+     */
+    private void rejectDuplicatesInFile(List<Row> rows) {
+        Map<String, Long> usernames = new HashMap<>();
+        Map<String, Long> emails = new HashMap<>();
+        Map<String, Long> studentIds = new HashMap<>();
+        rows.removeIf(row -> {
+            Long first = usernames.putIfAbsent(row.username, row.line);
+            if (first != null) {
+                row.error = "Duplicate username, first used on line " + first;
+                return true;
+            }
+            first = emails.putIfAbsent(row.email, row.line);
+            if (first != null) {
+                row.error = "Duplicate email, first used on line " + first;
+                return true;
+            }
+            first = studentIds.putIfAbsent(row.studentId, row.line);
+            if (first != null) {
+                row.error = "Duplicate student ID, first used on line " + first;
+                return true;
+            }
+            return false;
+        });
+    }
+    
+    private List<Row> rejectExisting(List<Row> rows) {
+        Set<String> usernames = existing(rows, row -> row.username, userRepository::findExistingUsernames);
+        Set<String> emails = existing(rows, row -> row.email, userRepository::findExistingEmails);
+        Set<String> studentIds = existing(rows, row -> row.studentId, studentRepository::findExistingStudentIds);
+        
+        List<Row> remaining = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (usernames.contains(row.username)) {
+                row.error = "Username is already taken";
+            } else if (emails.contains(row.email)) {
+                row.error = "Email is already in use";
+            } else if (studentIds.contains(row.studentId)) {
+                row.error = "Student ID is already in use";
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+    
+    private Set<String> existing(List<Row> rows, Function<Row, String> key,
+                                 Function<Collection<String>, List<String>> lookup) {
+        Set<String> found = new HashSet<>();
+        for (int from = 0; from < rows.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> values = rows.subList(from, Math.min(rows.size(), from + LOOKUP_CHUNK_SIZE)).stream()
+                    .map(key)
+                    .toList();
+            found.addAll(lookup.apply(values));
+        }
+        return found;
+    }
+    
+    /**
+     * Resolve department codes; rows with an unknown code are marked and removed.
+     */
+    private Map<String, Department> findDepartments(List<Row> rows) {
+        Set<String> codes = rows.stream().map(row -> row.departmentCode).collect(Collectors.toSet());
+        Map<String, Department> departments = codes.isEmpty() ? Map.of()
+                : departmentRepository.findByCodeIn(codes).stream()
+                        .collect(Collectors.toMap(Department::getCode, Function.identity()));
+        rows.removeIf(row -> {
+            if (!departments.containsKey(row.departmentCode)) {
+                row.error = String.format("Department not found with code: '%s'", row.departmentCode);
+                return true;
+            }
+            return false;
+        });
+        return departments;
+    }
+    
+    // ==================== Persistence ====================
+    
+    private void saveChunk(List<Row> chunk, Map<String, Department> departments) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> save(chunk, departments));
+        } catch (RuntimeException e) {
+            logger.warn("Student import chunk of {} failed, retrying individually", chunk.size(), e);
+            for (Row row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> save(List.of(row), departments));
+                } catch (DataIntegrityViolationException ex) {
+                    row.error = "Username, email or student ID is already in use";
+                } catch (RuntimeException ex) {
+                    // The cause can name tables, constraints or hosts; it goes to the log, not the client
+                    logger.error("Student import could not save line {}", row.line, ex);
+                    row.error = "Could not save student";
+                }
+            }
+        }
+    }
+    
+    private void save(List<Row> rows, Map<String, Department> departments) {
+        List<User> users = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            User user = new User();
+            user.setEmail(row.email);
+            user.setUsername(row.username);
+            user.setPassword(row.passwordHash);
+            user.setFirstName(row.firstName);
+            user.setLastName(row.lastName);
+            user.setRole(Role.STUDENT);
+            user.setEnabled(true);
+            user.setAccountNonExpired(true);
+            user.setAccountNonLocked(true);
+            user.setCredentialsNonExpired(true);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+        
+        List<Student> students = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            Student student = new Student();
+            student.setUser(users.get(i));
+            student.setStudentId(row.studentId);
+            student.setDepartment(departments.get(row.departmentCode));
+            student.setGpa(row.gpa);
+            student.setCurrentSemester(row.currentSemester);
+            student.setYearOfStudy(row.yearOfStudy);
+            students.add(student);
+        }
+        studentRepository.saveAll(students);
+    }
+    
+    // ==================== CSV ====================
+    
+    private List<Row> parse(InputStream csv) {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new BusinessException("The CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessException("CSV header is missing column(s): " + String.join(", ", missing));
+        }
+        
+        List<Row> rows = new ArrayList<>();
+        List<String> fields;
+        while ((fields = readRow(reader)) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            if (rows.size() == maxRows) {
+                throw new BusinessException("CSV file has more than " + maxRows + " rows; split it into smaller files");
+            }
+            rows.add(new Row(reader.recordLine, columns, fields));
+        }
+        return rows;
+    }
+    
+    private List<String> readRow(CsvReader reader) {
+        try {
+            return reader.next();
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Malformed CSV at line " + reader.recordLine + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * One CSV row; fields are trimmed and empty fields read as null.
+     */
+    private static class Row {
+        
+        private final long line;
+        private final String username;
+        private final String email;
+        private final String password;
+        private final String firstName;
+        private final String lastName;
+        private final String studentId;
+        private final String departmentCode;
+        private final String gpaText;
+        private final String currentSemesterText;
+        private final String yearOfStudyText;
+        private Double gpa;
+        private Integer currentSemester;
+        private Integer yearOfStudy;
+        private String passwordHash;
+        private String error;
+        
+        Row(long line, Map<String, Integer> columns, List<String> fields) {
+            this.line = line;
+            this.username = field(columns, fields, "username");
+            this.email = field(columns, fields, "email");
+            this.password = field(columns, fields, "password");
+            this.firstName = field(columns, fields, "first_name");
+            this.lastName = field(columns, fields, "last_name");
+            this.studentId = field(columns, fields, "student_id");
+            this.departmentCode = field(columns, fields, "department_code");
+            this.gpaText = field(columns, fields, "gpa");
+            this.currentSemesterText = field(columns, fields, "current_semester");
+            this.yearOfStudyText = field(columns, fields, "year_of_study");
+        }
+        
+        String value(String column) {
+            return switch (column) {
+                case "username" -> username;
+                case "email" -> email;
+                case "password" -> password;
+                case "first_name" -> firstName;
+                case "last_name" -> lastName;
+                case "student_id" -> studentId;
+                case "department_code" -> departmentCode;
+                default -> throw new IllegalArgumentException(column);
+            };
+        }
+        
+        private static String field(Map<String, Integer> columns, List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+    
+    /**
+     * Minimal RFC 4180 reader: comma-separated, double-quoted fields may contain commas,
+     * quotes ("") and line breaks.
+     */
+    private static class CsvReader {
+        
+        private final BufferedReader reader;
+        
+        private long line = 1;
+        
+        private long recordLine;
+        
+        private boolean started;
+        
+        CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+        
+        /**
+         * Next record, or null at the end of input.
+         */
+        List<String> next() {
+            try {
+                int c = reader.read();
+                if (!started && c == '\uFEFF') {
+                    c = reader.read();
+                }
+                started = true;
+                if (c == -1) {
+                    return null;
+                }
+                recordLine = line;
+                List<String> fields = new ArrayList<>();
+                StringBuilder field = new StringBuilder();
+                boolean quoted = false;
+                while (true) {
+                    if (quoted) {
+                        if (c == -1) {
+                            throw new IllegalArgumentException("unterminated quoted field");
+                        }
+                        if (c == '"') {
+                            reader.mark(1);
+                            if (reader.read() == '"') {
+                                field.append('"');
+                            } else {
+                                reader.reset();
+                                quoted = false;
+                            }
+                        } else {
+                            if (c == '\n') {
+                                line++;
+                            }
+                            field.append((char) c);
+                        }
+                    } else if (c == '"' && field.isEmpty()) {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else if (c == '\n' || c == -1) {
+                        line++;
+                        fields.add(field.toString());
+                        return fields;
+                    } else if (c != '\r') {
+                        field.append((char) c);
+                    }
+                    c = reader.read();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
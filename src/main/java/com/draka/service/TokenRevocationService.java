@@ -0,0 +1,177 @@
+package com.draka.service;
+
+import com.draka.entity.TokenRevocation;
+import com.draka.exception.BusinessException;
+import com.draka.repository.TokenRevocationRepository;
+import com.draka.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for revoking access tokens before they expire.
+ *
+ * Revocations are persisted and mirrored in two hash maps: revoked token ids, and per-user
+ * cutoffs before which every token is revoked. Each request does at most two hash lookups
+ * and no database access. Revocations are rare and only kept until the tokens they cover
+ * expire, so the maps stay small. The maps are rebuilt from the table at startup and
+ * re-synced periodically so revocations made on other instances are picked up.
+ */
+@Service
+public class TokenRevocationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+    
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+    
+    @Autowired
+    private JwtUtils jwtUtils;
+    
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+    
+    @Value("${security.revocation.refresh-interval:30000}")
+    private long refreshIntervalMs;
+    
+    // jti -> expiry (epoch ms)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    
+    // username -> tokens issued before this instant (epoch ms, a whole second) are revoked
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    
+    private ScheduledExecutorService refresher;
+    
+    @PostConstruct
+    void init() {
+        refresh();
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMs, refreshIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+    
+    /**
+     * Check whether a verified token has been revoked.
+     */
+    public boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        if (jti != null && revokedTokens.containsKey(jti)) {
+            return true;
+        }
+        Long cutoff = revokedBefore.get(claims.getSubject());
+        Date issuedAt = claims.getIssuedAt();
+        return cutoff != null && (issuedAt == null || issuedAt.getTime() < cutoff);
+    }
+    
+    /**
+     * Revoke a single access token.
+     */
+    public void revokeToken(String token) {
+        Claims claims = jwtUtils.parseAccessToken(token);
+        if (claims == null) {
+            throw new BusinessException("Token is invalid or already expired");
+        }
+        if (claims.getId() == null) {
+            throw new BusinessException("Token has no id; revoke all of the user's tokens instead");
+        }
+        
+        long expiresAt = claims.getExpiration().getTime();
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setJti(claims.getId());
+        revocation.setUsername(claims.getSubject());
+        revocation.setExpiresAt(toLocalDateTime(expiresAt));
+        tokenRevocationRepository.save(revocation);
+        
+        revokedTokens.put(claims.getId(), expiresAt);
+    }
+    
+    /**
+     * Revoke every token issued to a user up to now.
+     *
+     * A token's iat has one-second resolution, so a millisecond cutoff cannot tell a token
+     * issued earlier in the same second from one issued later in it. The cutoff is rounded
+     * up to the next whole second: every token issued before the revocation is covered, and
+     * so is one issued in the rest of that second, whose holder has to sign in again.
+     */
+    public void revokeAllForUser(String username) {
+        long now = System.currentTimeMillis();
+        long cutoff = toWholeSecond(now);
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setUsername(username);
+        revocation.setRevokedBefore(toLocalDateTime(cutoff));
+        revocation.setExpiresAt(toLocalDateTime(now + jwtExpirationMs));
+        tokenRevocationRepository.save(revocation);
+        
+        revokedBefore.merge(username, cutoff, Math::max);
+    }
+    
+    /**
+     * Merge persisted revocations into memory and drop expired ones.
+     * Merging (rather than replacing) never loses a revocation made concurrently on this instance.
+     */
+    private void refresh() {
+        long now = System.currentTimeMillis();
+        LocalDateTime nowDateTime = toLocalDateTime(now);
+        for (TokenRevocation revocation : tokenRevocationRepository.findByExpiresAtAfter(nowDateTime)) {
+            long expiresAt = toEpochMillis(revocation.getExpiresAt());
+            if (revocation.getJti() != null) {
+                revokedTokens.put(revocation.getJti(), expiresAt);
+            }
+            if (revocation.getRevokedBefore() != null) {
+                revokedBefore.merge(revocation.getUsername(),
+                        toWholeSecond(toEpochMillis(revocation.getRevokedBefore())), Math::max);
+            }
+        }
+        
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedBefore.values().removeIf(cutoff -> cutoff + jwtExpirationMs <= now);
+        tokenRevocationRepository.deleteExpired(nowDateTime);
+    }
+    
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh token revocations", e);
+        }
+    }
+    
+    /**
+     * Round up to the next whole second (iat resolution); whole seconds are unchanged.
+     */
+    private static long toWholeSecond(long epochMillis) {
+        return Math.ceilDiv(epochMillis, 1000L) * 1000L;
+    }
+    
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+    
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,243 @@
+package com.draka.service;
+
+import com.draka.dto.WaitingRoomStatus;
+import com.draka.exception.ServiceUnavailableException;
+import com.draka.security.JwtUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory virtual waiting room for registration spikes.
+ *
+ * Students take a numbered ticket and poll until the admission window reaches it, then
+ * receive a signed, time-limited admission token. The window advances at the configured
+ * rate scaled by the free share of the database connection pool, so admissions slow
+ * down as soon as the pool starts to saturate. Tickets that stopped polling are passed
+ * over without using up an admission; their holders rejoin at the back if they return.
+ */
+@Service
+public class WaitingRoomService {
+    
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    
+    @Autowired
+    private JwtUtils jwtUtils;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${waiting-room.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${waiting-room.admit-rate:50}")
+    private double admitRatePerSecond;
+    
+    @Value("${waiting-room.max-queue-size:50000}")
+    private int maxQueueSize;
+    
+    @Value("${waiting-room.token-ttl:600000}")
+    private long tokenTtlMs;
+    
+    @Value("${waiting-room.ticket-idle-timeout:60000}")
+    private long ticketIdleTimeoutMs;
+    
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    
+    /**
+     * Tickets not yet reached by the admission window, by sequence.
+     */
+    private final ConcurrentSkipListMap<Long, Ticket> queue = new ConcurrentSkipListMap<>();
+    
+    private final AtomicLong lastIssued = new AtomicLong();
+    
+    private final ReentrantLock advanceLock = new ReentrantLock();
+    
+    private volatile long admittedThrough;
+    
+    private volatile double currentRate;
+    
+    private double admissionCredit;
+    
+    private long lastAdvanceNanos = System.nanoTime();
+    
+    private long lastPurgeNanos = System.nanoTime();
+    
+    private HikariDataSource hikariDataSource;
+    
+    @PostConstruct
+    void init() {
+        currentRate = admitRatePerSecond;
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            hikariDataSource = null;
+        }
+        Gauge.builder("waiting.room.queue", this, room -> room.lastIssued.get() - room.admittedThrough)
+                .description("Tickets the admission window has not reached yet")
+                .register(meterRegistry);
+        Gauge.builder("waiting.room.admit.rate", this, room -> room.currentRate)
+                .description("Admissions per second, after scaling by connection pool headroom")
+                .register(meterRegistry);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Join the waiting room, or poll an existing ticket.
+     */
+    public WaitingRoomStatus join(String username) {
+        if (!enabled) {
+            return new WaitingRoomStatus(true, null, 0L, null, null);
+        }
+        
+        advance();
+        
+        Ticket ticket = tickets.get(username);
+        if (ticket != null && ticket.skipped) {
+            // Passed over while idle, so it starts again at the back
+            tickets.remove(username, ticket);
+            ticket = null;
+        }
+        if (ticket == null) {
+            if (tickets.size() >= maxQueueSize) {
+                throw new ServiceUnavailableException("The registration waiting room is full, please retry later",
+                        estimatedWaitSeconds(maxQueueSize));
+            }
+            ticket = tickets.computeIfAbsent(username, u -> issue());
+        }
+        ticket.lastSeenNanos = System.nanoTime();
+        
+        // skipped is set before the window moves past a ticket, so it is visible here
+        if (ticket.sequence <= admittedThrough && !ticket.skipped) {
+            tickets.remove(username);
+            String token = jwtUtils.generateAdmissionToken(username, tokenTtlMs);
+            return new WaitingRoomStatus(true, null, 0L, token, tokenTtlMs / 1000);
+        }
+        
+        long position = Math.max(1, ticket.sequence - admittedThrough);
+        return new WaitingRoomStatus(false, position, estimatedWaitSeconds(position), null, null);
+    }
+    
+    /**
+     * Check the admission token presented by a student.
+     */
+    public boolean isAdmitted(String admissionToken, String username) {
+        return admissionToken != null && jwtUtils.validateAdmissionToken(admissionToken, username);
+    }
+    
+    /**
+     * Suggested client retry delay while queued.
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, Math.min(30, estimatedWaitSeconds(Math.max(1, lastIssued.get() - admittedThrough))));
+    }
+    
+    private Ticket issue() {
+        Ticket ticket = new Ticket(lastIssued.incrementAndGet());
+        queue.put(ticket.sequence, ticket);
+        return ticket;
+    }
+    
+    private long estimatedWaitSeconds(long position) {
+        return (long) Math.ceil(position / Math.max(currentRate, 0.1));
+    }
+    
+    /**
+     * Move the admission window forward by the credit earned since the last call.
+     * Idle tickets at the front are passed over without spending credit.
+     * Callers that find another thread already advancing simply skip.
+     */
+    private void advance() {
+        if (!advanceLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            double rate = admitRatePerSecond * poolHeadroom();
+            currentRate = rate;
+            
+            // Allow at most one second of burst so an idle period cannot flood the pool later
+            admissionCredit = Math.min(admissionCredit + (now - lastAdvanceNanos) / 1e9 * rate, Math.max(rate, 1));
+            lastAdvanceNanos = now;
+            
+            long idleCutoff = now - TimeUnit.MILLISECONDS.toNanos(ticketIdleTimeoutMs);
+            long through = admittedThrough;
+            Map.Entry<Long, Ticket> head;
+            // Stop at a gap: that ticket is still being issued
+            while ((head = queue.firstEntry()) != null && head.getKey() == through + 1) {
+                Ticket ticket = head.getValue();
+                if (ticket.lastSeenNanos < idleCutoff) {
+                    ticket.skipped = true;
+                } else if (admissionCredit >= 1) {
+                    admissionCredit -= 1;
+                } else {
+                    break;
+                }
+                queue.remove(head.getKey());
+                admittedThrough = ++through;
+            }
+            
+            if (now - lastPurgeNanos > PURGE_INTERVAL_NANOS) {
+                lastPurgeNanos = now;
+                // Idle tickets stay queued until the window passes them
+                tickets.values().removeIf(t -> t.lastSeenNanos < idleCutoff);
+            }
+        } finally {
+            advanceLock.unlock();
+        }
+    }
+    
+    /**
+     * Fraction of the connection pool that is free, 0 when requests are already waiting for a connection.
+     */
+    private double poolHeadroom() {
+        if (hikariDataSource == null) {
+            return 1.0;
+        }
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return 1.0;
+        }
+        if (pool.getThreadsAwaitingConnection() > 0) {
+            return 0.0;
+        }
+        int max = hikariDataSource.getMaximumPoolSize();
+        return Math.max(0.0, 1.0 - (double) pool.getActiveConnections() / max);
+    }
+    
+    private static class Ticket {
+        
+        private final long sequence;
+        
+        private volatile long lastSeenNanos;
+        
+        private volatile boolean skipped;
+        
+        Ticket(long sequence) {
+            this.sequence = sequence;
+            this.lastSeenNanos = System.nanoTime();
+        }
+    }
+}
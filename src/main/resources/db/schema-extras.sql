@@ -0,0 +1,42 @@
+-- Schema objects Hibernate cannot derive from the entity mappings.
+-- Runs after Hibernate's ddl-auto on every startup, so every statement must be idempotent.
+
+-- At most one active semester (ActiveSemesterHolder relies on this)
+CREATE UNIQUE INDEX IF NOT EXISTS uk_semesters_single_active ON semesters (is_active) WHERE is_active;
+
+-- Ids come from pooled sequences (allocationSize 50), so Hibernate can batch inserts.
+-- Migration from identity columns, keeping existing ids: the identity default is dropped and
+-- each sequence is moved past the highest id. Moving is a no-op once the sequence is ahead;
+-- afterwards nextval returns max(id) + 50 and Hibernate hands out max(id) + 1 .. max(id) + 50.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+SELECT setval('users_seq', m) FROM (SELECT MAX(id) AS m FROM users) ids WHERE m >= (SELECT last_value FROM users_seq);
+
+CREATE SEQUENCE IF NOT EXISTS departments_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE departments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+SELECT setval('departments_seq', m) FROM (SELECT MAX(id) AS m FROM departments) ids WHERE m >= (SELECT last_value FROM departments_seq);
+
+CREATE SEQUENCE IF NOT EXISTS semesters_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE semesters ALTER COLUMN id DROP IDENTITY IF EXISTS;
+SELECT setval('semesters_seq', m) FROM (SELECT MAX(id) AS m FROM semesters) ids WHERE m >= (SELECT last_value FROM semesters_seq);
+
+CREATE SEQUENCE IF NOT EXISTS lecturers_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE lecturers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+SELECT setval('lecturers_seq', m) FROM (SELECT MAX(id) AS m FROM lecturers) ids WHERE m >= (SELECT last_value FROM lecturers_seq);
+
+CREATE SEQUENCE IF NOT EXISTS students_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE students ALTER COLUMN id DROP IDENTITY IF EXISTS;
+SELECT setval('students_seq', m) FROM (SELECT MAX(id) AS m FROM students) ids WHERE m >= (SELECT last_value FROM students_seq);
+
+CREATE SEQUENCE IF NOT EXISTS courses_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE courses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+SELECT setval('courses_seq', m) FROM (SELECT MAX(id) AS m FROM courses) ids WHERE m >= (SELECT last_value FROM courses_seq);
+
+CREATE SEQUENCE IF NOT EXISTS allocations_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE allocations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+SELECT setval('allocations_seq', m) FROM (SELECT MAX(id) AS m FROM allocations) ids WHERE m >= (SELECT last_value FROM allocations_seq);
+
+CREATE SEQUENCE IF NOT EXISTS token_revocations_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE token_revocations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+SELECT setval('token_revocations_seq', m) FROM (SELECT MAX(id) AS m FROM token_revocations) ids WHERE m >= (SELECT last_value FROM token_revocations_seq);
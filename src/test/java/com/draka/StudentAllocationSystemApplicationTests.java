@@ -0,0 +1,32 @@
+package com.draka;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the full application on H2 so a context failure (for example a cache region
+ * the provider cannot configure) fails the build.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentAllocationSystemApplicationTests {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void contextLoads() {
+        String[] regions = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics()
+                .getSecondLevelCacheRegionNames();
+        assertThat(Arrays.asList(regions)).contains("course", "semester", "lecturer", "department");
+    }
+}
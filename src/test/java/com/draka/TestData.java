@@ -0,0 +1,109 @@
+package com.draka;
+
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Lecturer;
+import com.draka.entity.Semester;
+import com.draka.entity.Student;
+import com.draka.entity.User;
+import com.draka.enums.Role;
+import com.draka.enums.SemesterType;
+import com.draka.repository.CourseRepository;
+import com.draka.repository.DepartmentRepository;
+import com.draka.repository.LecturerRepository;
+import com.draka.repository.SemesterRepository;
+import com.draka.repository.StudentRepository;
+import com.draka.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saves minimal valid rows for tests. Every call uses fresh unique codes, so tests
+ * sharing one application context never collide.
+ */
+@Component
+public class TestData {
+    
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    
+    @Autowired
+    private SemesterRepository semesterRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private LecturerRepository lecturerRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    public Department department() {
+        int n = SEQUENCE.incrementAndGet();
+        Department department = new Department();
+        department.setName("Department " + n);
+        department.setCode("D" + n);
+        return departmentRepository.save(department);
+    }
+    
+    public Semester semester() {
+        int n = SEQUENCE.incrementAndGet();
+        Semester semester = new Semester();
+        semester.setName("Semester " + n);
+        semester.setType(SemesterType.FIRST_SEMESTER);
+        semester.setYear(2000 + n);
+        semester.setStartDate(LocalDate.of(2024, 9, 1));
+        semester.setEndDate(LocalDate.of(2024, 12, 20));
+        return semesterRepository.save(semester);
+    }
+    
+    public Lecturer lecturer(Department department) {
+        Lecturer lecturer = new Lecturer();
+        lecturer.setUser(user(Role.LECTURER));
+        lecturer.setEmployeeId("LEC" + SEQUENCE.incrementAndGet());
+        lecturer.setDepartment(department);
+        return lecturerRepository.save(lecturer);
+    }
+    
+    public Student student(Department department, double gpa) {
+        Student student = new Student();
+        student.setUser(user(Role.STUDENT));
+        student.setStudentId("STU" + SEQUENCE.incrementAndGet());
+        student.setDepartment(department);
+        student.setGpa(gpa);
+        return studentRepository.save(student);
+    }
+    
+    public Course course(Department department, Semester semester, Lecturer lecturer, int maxCapacity) {
+        int n = SEQUENCE.incrementAndGet();
+        Course course = new Course();
+        course.setCourseCode("C" + n);
+        course.setCourseName("Course " + n);
+        course.setDepartment(department);
+        course.setSemester(semester);
+        course.setLecturer(lecturer);
+        course.setMaxCapacity(maxCapacity);
+        return courseRepository.save(course);
+    }
+    
+    private User user(Role role) {
+        int n = SEQUENCE.incrementAndGet();
+        User user = new User();
+        user.setUsername("user" + n);
+        user.setEmail("user" + n + "@test.local");
+        user.setPassword("unused");
+        user.setFirstName("Test");
+        user.setLastName("User " + n);
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,132 @@
+package com.draka.controller;
+
+import com.draka.TestData;
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Lecturer;
+import com.draka.entity.Semester;
+import com.draka.entity.Student;
+import com.draka.entity.User;
+import com.draka.enums.AllocationStatus;
+import com.draka.enums.Role;
+import com.draka.repository.AllocationRepository;
+import com.draka.repository.DepartmentRepository;
+import com.draka.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With open-in-view off, the session is closed before the response is written, so entity
+ * responses must fetch everything they serialize; a lazy association left behind fails the
+ * request. The department here has a HOD, which every nested department serializes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EntityResponseTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AllocationRepository allocationRepository;
+    
+    private Lecturer lecturer;
+    
+    private Lecturer hod;
+    
+    private Course course;
+    
+    private Student student;
+    
+    @BeforeEach
+    void setUp() {
+        Department department = testData.department();
+        Semester semester = testData.semester();
+        lecturer = testData.lecturer(department);
+        hod = testData.lecturer(testData.department());
+        User hodUser = hod.getUser();
+        hodUser.setRole(Role.HOD);
+        userRepository.save(hodUser);
+        department.setHod(hodUser);
+        departmentRepository.save(department);
+        course = testData.course(department, semester, lecturer, 5);
+        student = testData.student(department, 3.5);
+        Allocation allocation = new Allocation();
+        allocation.setStudent(student);
+        allocation.setCourse(course);
+        allocation.setStatus(AllocationStatus.APPROVED);
+        allocationRepository.save(allocation);
+    }
+    
+    @Test
+    void courseById() throws Exception {
+        mockMvc.perform(get("/api/admin/courses/" + course.getId()).with(user(admin())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.department.hod.lastName").value(hod.getUser().getLastName()))
+                .andExpect(jsonPath("$.lecturer.department.code").exists());
+    }
+    
+    @Test
+    void assignLecturer() throws Exception {
+        mockMvc.perform(post("/api/admin/courses/assign-lecturer").with(user(admin()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + course.getId() + ",\"lecturerId\":" + hod.getId() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.lecturer.user.lastName").value(hod.getUser().getLastName()));
+    }
+    
+    @Test
+    void gpaRequirement() throws Exception {
+        mockMvc.perform(put("/api/lecturer/courses/gpa-requirement").with(user(lecturer.getUser()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + course.getId() + ",\"minimumGpa\":2.0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.department.hod.lastName").exists());
+    }
+    
+    @Test
+    void hodDashboard() throws Exception {
+        mockMvc.perform(get("/api/hod/dashboard").with(user(hod.getUser())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.user.lastName").value(hod.getUser().getLastName()));
+    }
+    
+    @Test
+    void dropCourse() throws Exception {
+        mockMvc.perform(post("/api/student/courses/" + course.getId() + "/drop").with(user(student.getUser())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("DROPPED"))
+                .andExpect(jsonPath("$.data.student.department.hod.lastName").exists());
+    }
+    
+    private User admin() {
+        User admin = new User();
+        admin.setUsername("admin");
+        admin.setRole(Role.ADMIN);
+        return admin;
+    }
+}
@@ -0,0 +1,131 @@
+package com.draka.controller;
+
+import com.draka.TestData;
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Lecturer;
+import com.draka.entity.Semester;
+import com.draka.repository.AllocationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The entity-returning admin endpoints fetch what they serialize in one query, instead of
+ * lazy-loading students, courses, lecturers and users while the response is written.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class StatementCountTest {
+    
+    private static final int LECTURERS = 3;
+    
+    private static final int COURSES = 6;
+    
+    private static final int ALLOCATIONS = 24;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private AllocationRepository allocationRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Department department;
+    
+    private Semester semester;
+    
+    private Allocation allocation;
+    
+    @BeforeEach
+    void setUp() {
+        department = testData.department();
+        semester = testData.semester();
+        List<Lecturer> lecturers = new ArrayList<>();
+        for (int i = 0; i < LECTURERS; i++) {
+            lecturers.add(testData.lecturer(department));
+        }
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(testData.course(department, semester, lecturers.get(i % LECTURERS), 50));
+        }
+        for (int i = 0; i < ALLOCATIONS; i++) {
+            Allocation row = new Allocation();
+            row.setStudent(testData.student(department, 3.0));
+            row.setCourse(courses.get(i % COURSES));
+            allocation = allocationRepository.save(row);
+        }
+    }
+    
+    @Test
+    void allocationPage() throws Exception {
+        assertThat(count("/api/admin/allocations?size=50&semesterId=" + semester.getId(), ALLOCATIONS)).isEqualTo(1);
+    }
+    
+    @Test
+    void coursePage() throws Exception {
+        assertThat(count("/api/admin/courses?size=50&semesterId=" + semester.getId(), COURSES)).isEqualTo(1);
+    }
+    
+    @Test
+    void lecturerPage() throws Exception {
+        String url = "/api/admin/departments/" + department.getId() + "/lecturers?size=50";
+        assertThat(count(url, LECTURERS)).isEqualTo(1);
+    }
+    
+    @Test
+    void studentPage() throws Exception {
+        assertThat(count("/api/admin/students?size=50&departmentId=" + department.getId(), ALLOCATIONS)).isEqualTo(1);
+    }
+    
+    @Test
+    void allocationById() throws Exception {
+        Statistics statistics = statistics();
+        long before = statistics.getPrepareStatementCount();
+        mockMvc.perform(get("/api/admin/allocations/" + allocation.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.course.lecturer.user.lastName").exists());
+        assertThat(statistics.getPrepareStatementCount() - before).isEqualTo(1);
+    }
+    
+    /**
+     * Statements prepared while serving a page, starting from an empty second-level cache.
+     */
+    private long count(String url, int rows) throws Exception {
+        Statistics statistics = statistics();
+        long before = statistics.getPrepareStatementCount();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(rows));
+        return statistics.getPrepareStatementCount() - before;
+    }
+    
+    private Statistics statistics() {
+        entityManagerFactory.getCache().evictAll();
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,85 @@
+package com.draka.metrics;
+
+import com.draka.TestData;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.repository.CourseRepository;
+import com.draka.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hashing pool, the local caches, the waiting room and the second-level cache publish
+ * their state to the meter registry, and the meters move with the work they describe.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MeterBindingTest {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private TestData testData;
+    
+    @Test
+    void hashingPool() {
+        FunctionTimer hashing = meterRegistry.get("password.hashing.duration").functionTimer();
+        double before = hashing.count();
+        passwordEncoder.encode("secret1");
+        
+        assertThat(hashing.count()).isEqualTo(before + 1);
+        assertThat(hashing.totalTime(TimeUnit.MILLISECONDS)).isPositive();
+        assertThat(meterRegistry.get("password.hashing.queue").gauge().value()).isZero();
+        assertThat(meterRegistry.get("password.hashing.rejections").functionCounter()).isNotNull();
+    }
+    
+    @Test
+    void localCachesAndWaitingRoom() {
+        for (String cache : new String[] {"user-details", "student-profile-ids", "lecturer-profile-ids"}) {
+            assertThat(meterRegistry.find("cache.gets").tag("cache", cache).tag("result", "hit").functionCounter())
+                    .as(cache)
+                    .isNotNull();
+        }
+        assertThat(meterRegistry.get("waiting.room.queue").gauge().value()).isZero();
+        assertThat(meterRegistry.get("waiting.room.admit.rate").gauge()).isNotNull();
+    }
+    
+    @Test
+    void secondLevelCache() {
+        Department department = testData.department();
+        Course course = testData.course(department, testData.semester(), testData.lecturer(department), 10);
+        double hits = meterRegistry.get("hibernate.second.level.cache.region.requests")
+                .tag("region", "course")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+        
+        // Each call runs in its own session, so the second one is served from the region
+        courseRepository.findById(course.getId());
+        courseRepository.findById(course.getId());
+        
+        assertThat(meterRegistry.get("hibernate.second.level.cache.region.requests")
+                .tag("region", "course")
+                .tag("result", "hit")
+                .functionCounter()
+                .count()).isGreaterThan(hits);
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests").tag("result", "hit")
+                .functionCounter()
+                .count()).isPositive();
+    }
+}
@@ -0,0 +1,237 @@
+package com.draka.repository;
+
+import com.draka.TestData;
+import com.draka.dto.AllocationExportRow;
+import com.draka.dto.AllocationSummary;
+import com.draka.dto.CourseSummary;
+import com.draka.dto.CursorPage;
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Lecturer;
+import com.draka.entity.Semester;
+import com.draka.entity.Student;
+import com.draka.entity.User;
+import com.draka.enums.AllocationStatus;
+import com.draka.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The page queries add a predicate only for the filters that are given; every combination
+ * returns the matching rows in id order, after the cursor and up to the page size.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PageFilterTest {
+    
+    private static final int PER_COURSE = 4;
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private AllocationRepository allocationRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private LecturerRepository lecturerRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private Department department;
+    
+    private Semester semester;
+    
+    private Lecturer lecturer;
+    
+    private Course taught;
+    
+    private Course other;
+    
+    private Course later;
+    
+    private final List<Allocation> allocations = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        department = testData.department();
+        semester = testData.semester();
+        lecturer = testData.lecturer(department);
+        taught = testData.course(department, semester, lecturer, 50);
+        other = testData.course(department, semester, testData.lecturer(department), 50);
+        later = testData.course(department, testData.semester(), lecturer, 50);
+        for (Course course : List.of(taught, other, later)) {
+            for (int i = 0; i < PER_COURSE; i++) {
+                Allocation row = new Allocation();
+                row.setStudent(testData.student(department, 3.0));
+                row.setCourse(course);
+                // Every other request approved, so status narrows each course by half
+                row.setStatus(i % 2 == 0 ? AllocationStatus.APPROVED : AllocationStatus.PENDING);
+                allocations.add(allocationRepository.save(row));
+            }
+        }
+    }
+    
+    @Test
+    void allocationPage() {
+        assertThat(allocationIds(allocationRepository.findPage(0, null, null, null, department.getId(), null,
+                CursorPage.limit(100)))).isEqualTo(expected(null, null));
+        assertThat(allocationIds(allocationRepository.findPage(0, null, null, semester.getId(), null, null,
+                CursorPage.limit(100)))).isEqualTo(expected(null, List.of(taught, other)));
+        assertThat(allocationIds(allocationRepository.findPage(0, AllocationStatus.APPROVED, null, null,
+                department.getId(), lecturer.getId(), CursorPage.limit(100))))
+                .isEqualTo(expected(AllocationStatus.APPROVED, List.of(taught, later)));
+        assertThat(allocationIds(allocationRepository.findPage(0, AllocationStatus.PENDING, other.getId(), null,
+                null, null, CursorPage.limit(100)))).isEqualTo(expected(AllocationStatus.PENDING, List.of(other)));
+    }
+    
+    @Test
+    void allocationPageResumesAfterTheCursor() {
+        List<Long> all = expected(null, null);
+        List<Allocation> page = allocationRepository.findPage(all.get(2), null, null, null, department.getId(),
+                null, CursorPage.limit(3));
+        // limit(3) asks for one extra row to tell whether there is a next page
+        assertThat(allocationIds(page)).isEqualTo(all.subList(3, 7));
+        assertThat(page.get(0).getCourse().getLecturer().getUser().getLastName()).isNotNull();
+    }
+    
+    @Test
+    void allocationSummaryPage() {
+        List<AllocationSummary> approved = allocationRepository.findSummaryPage(0, AllocationStatus.APPROVED,
+                null, lecturer.getId(), CursorPage.limit(100));
+        assertThat(approved).extracting(AllocationSummary::getId)
+                .isEqualTo(expected(AllocationStatus.APPROVED, List.of(taught, later)));
+        
+        List<AllocationSummary> course = allocationRepository.findSummaryPage(0, null, taught.getId(), null,
+                CursorPage.limit(100));
+        assertThat(course).extracting(AllocationSummary::getId).isEqualTo(expected(null, List.of(taught)));
+        assertThat(course.get(0).getCourseCode()).isEqualTo(taught.getCourseCode());
+        assertThat(course.get(0).getStudentName()).contains(" ");
+    }
+    
+    @Test
+    void coursePage() {
+        assertThat(courseRepository.findPage(0, null, department.getId(), null, CursorPage.limit(100)))
+                .extracting(Course::getId)
+                .containsExactly(taught.getId(), other.getId(), later.getId());
+        assertThat(courseRepository.findPage(0, semester.getId(), null, lecturer.getId(), CursorPage.limit(100)))
+                .extracting(Course::getId)
+                .containsExactly(taught.getId());
+        assertThat(courseRepository.findPage(taught.getId(), null, department.getId(), null, CursorPage.limit(1)))
+                .extracting(Course::getId)
+                .containsExactly(other.getId(), later.getId());
+    }
+    
+    @Test
+    void courseSummaryPage() {
+        assertThat(courseRepository.findSummaryPage(0, null, lecturer.getId(), CursorPage.limit(100)))
+                .extracting(CourseSummary::getId)
+                .containsExactly(taught.getId(), later.getId());
+        List<CourseSummary> semesterCourses = courseRepository.findSummaryPage(0, semester.getId(), null,
+                CursorPage.limit(100));
+        assertThat(semesterCourses).extracting(CourseSummary::getId)
+                .containsExactly(taught.getId(), other.getId());
+        assertThat(semesterCourses.get(0).getSemesterName()).isEqualTo(semester.getName());
+        assertThat(semesterCourses.get(0).getLecturerName()).contains(" ");
+    }
+    
+    @Test
+    void studentSummaries() {
+        Allocation approved = allocations.get(0);
+        Long studentId = approved.getStudent().getId();
+        assertThat(allocationRepository.findSummariesByStudent(studentId, null))
+                .extracting(AllocationSummary::getId)
+                .containsExactly(approved.getId());
+        assertThat(allocationRepository.findSummariesByStudent(studentId, AllocationStatus.APPROVED))
+                .extracting(AllocationSummary::getId)
+                .containsExactly(approved.getId());
+        assertThat(allocationRepository.findSummariesByStudent(studentId, AllocationStatus.PENDING)).isEmpty();
+    }
+    
+    @Test
+    void exportRows() {
+        List<Long> approvedThisSemester = transactionTemplate.execute(tx -> {
+            try (Stream<AllocationExportRow> rows = allocationRepository.streamExportRows(
+                    semester.getId(), null, AllocationStatus.APPROVED)) {
+                return rows.map(AllocationExportRow::getAllocationId).toList();
+            }
+        });
+        assertThat(approvedThisSemester).isEqualTo(expected(AllocationStatus.APPROVED, List.of(taught, other)));
+        
+        List<AllocationExportRow> course = transactionTemplate.execute(tx -> {
+            try (Stream<AllocationExportRow> rows = allocationRepository.streamExportRows(null, later.getId(), null)) {
+                return rows.toList();
+            }
+        });
+        assertThat(course).extracting(AllocationExportRow::getAllocationId).isEqualTo(expected(null, List.of(later)));
+        assertThat(course.get(0).getCourseCode()).isEqualTo(later.getCourseCode());
+    }
+    
+    @Test
+    void studentAndLecturerPages() {
+        List<Student> students = studentRepository.findPage(0, department.getId(), CursorPage.limit(100));
+        assertThat(students).extracting(Student::getId).isEqualTo(allocations.stream()
+                .map(row -> row.getStudent().getId())
+                .sorted()
+                .toList());
+        assertThat(students.get(0).getUser().getLastName()).isNotNull();
+        
+        List<Lecturer> lecturers = lecturerRepository.findPage(0, department.getId(), CursorPage.limit(100));
+        assertThat(lecturers).extracting(Lecturer::getId)
+                .containsExactly(lecturer.getId(), other.getLecturer().getId());
+        assertThat(lecturers.get(0).getDepartment().getCode()).isEqualTo(department.getCode());
+        assertThat(lecturerRepository.findPage(lecturer.getId(), null, CursorPage.limit(100)))
+                .extracting(Lecturer::getId)
+                .contains(other.getLecturer().getId())
+                .doesNotContain(lecturer.getId());
+    }
+    
+    @Test
+    void userPage() {
+        List<User> lecturers = userRepository.findPage(0, Role.LECTURER, CursorPage.limit(10_000));
+        assertThat(lecturers).extracting(User::getRole).containsOnly(Role.LECTURER);
+        assertThat(lecturers).extracting(User::getId).contains(lecturer.getUser().getId());
+        assertThat(userRepository.findPage(lecturer.getUser().getId() - 1, null, CursorPage.limit(1)))
+                .extracting(User::getId)
+                .first()
+                .isEqualTo(lecturer.getUser().getId());
+    }
+    
+    /**
+     * Ids of this test's allocations with the given status in the given courses, in id order;
+     * null matches any.
+     */
+    private List<Long> expected(AllocationStatus status, List<Course> courses) {
+        return allocations.stream()
+                .filter(row -> status == null || row.getStatus() == status)
+                .filter(row -> courses == null
+                        || courses.stream().anyMatch(course -> course.getId().equals(row.getCourse().getId())))
+                .map(Allocation::getId)
+                .sorted()
+                .toList();
+    }
+    
+    private static List<Long> allocationIds(List<Allocation> rows) {
+        return rows.stream().map(Allocation::getId).toList();
+    }
+}
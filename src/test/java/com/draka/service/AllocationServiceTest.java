@@ -0,0 +1,227 @@
+package com.draka.service;
+
+import com.draka.TestData;
+import com.draka.dto.ApprovalRequest;
+import com.draka.dto.EnrollmentRequest;
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Student;
+import com.draka.enums.AllocationStatus;
+import com.draka.exception.BusinessException;
+import com.draka.repository.AllocationRepository;
+import com.draka.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AllocationServiceTest {
+    
+    private static final int CAPACITY = 5;
+    
+    private static final int THREADS = 8;
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private AllocationService allocationService;
+    
+    @Autowired
+    private AllocationRepository allocationRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Test
+    void concurrentSeatClaimsNeverExceedCapacity() throws Exception {
+        Department department = testData.department();
+        Course course = testData.course(department, testData.semester(), testData.lecturer(department), CAPACITY);
+        AtomicInteger claimed = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+        
+        // Every second successful claim gives its seat back, so claims and releases interleave
+        // and the course keeps refilling
+        runConcurrently(THREADS * 10, i -> {
+            Integer claim = transactionTemplate.execute(status -> courseRepository.claimSeat(course.getId()));
+            if (claim == 1) {
+                if (claimed.incrementAndGet() % 2 == 0) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        if (courseRepository.releaseSeat(course.getId()) == 1) {
+                            released.incrementAndGet();
+                        }
+                    });
+                }
+            }
+            assertThat(seats(course)).isBetween(0, CAPACITY);
+        });
+        
+        assertThat(claimed.get()).isGreaterThan(CAPACITY);
+        assertThat(seats(course)).isEqualTo(claimed.get() - released.get()).isLessThanOrEqualTo(CAPACITY);
+    }
+    
+    @Test
+    void concurrentApprovalsFillTheCourseExactly() throws Exception {
+        Department department = testData.department();
+        Course course = testData.course(department, testData.semester(), testData.lecturer(department), CAPACITY);
+        List<Long> allocationIds = new ArrayList<>();
+        for (int i = 0; i < CAPACITY * 3; i++) {
+            allocationIds.add(enroll(testData.student(department, 3.0), course).getId());
+        }
+        AtomicInteger approved = new AtomicInteger();
+        
+        runConcurrently(allocationIds.size(), i -> {
+            try {
+                allocationService.processEnrollmentRequest(
+                        new ApprovalRequest(allocationIds.get(i), AllocationStatus.APPROVED, null));
+                approved.incrementAndGet();
+            } catch (BusinessException e) {
+                assertThat(e).hasMessageContaining("maximum capacity");
+            }
+        });
+        
+        assertThat(approved.get()).isEqualTo(CAPACITY);
+        assertThat(seats(course)).isEqualTo(CAPACITY);
+        assertThat(allocationRepository.countByCourseIdAndStatus(course.getId(), AllocationStatus.APPROVED))
+                .isEqualTo(CAPACITY);
+    }
+    
+    @Test
+    void concurrentApprovalsOfOneRequestClaimOneSeat() throws Exception {
+        Department department = testData.department();
+        Course course = testData.course(department, testData.semester(), testData.lecturer(department), CAPACITY);
+        Long allocationId = enroll(testData.student(department, 3.0), course).getId();
+        AtomicInteger approved = new AtomicInteger();
+        
+        // Half the threads approve it alone, the other half through the bulk path
+        runConcurrently(THREADS * 2, i -> {
+            ApprovalRequest request = new ApprovalRequest(allocationId, AllocationStatus.APPROVED, null);
+            if (i % 2 == 0) {
+                try {
+                    allocationService.processEnrollmentRequest(request);
+                    approved.incrementAndGet();
+                } catch (BusinessException e) {
+                    assertThat(e).hasMessageContaining("already been processed");
+                }
+            } else if (allocationService.processEnrollmentRequests(List.of(request)).get(0).getSuccess()) {
+                approved.incrementAndGet();
+            }
+        });
+        
+        assertThat(approved.get()).isEqualTo(1);
+        assertThat(seats(course)).isEqualTo(1);
+    }
+    
+    @Test
+    void concurrentDropsOfOneCourseReleaseOneSeat() throws Exception {
+        Department department = testData.department();
+        Course course = testData.course(department, testData.semester(), testData.lecturer(department), 1);
+        Student enrolled = testData.student(department, 3.0);
+        Allocation seat = enroll(enrolled, course);
+        allocationService.processEnrollmentRequest(
+                new ApprovalRequest(seat.getId(), AllocationStatus.APPROVED, null));
+        List<Student> waiting = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Student student = testData.student(department, 3.0);
+            assertThat(enroll(student, course).getStatus()).isEqualTo(AllocationStatus.WAITLISTED);
+            waiting.add(student);
+        }
+        AtomicInteger dropped = new AtomicInteger();
+        
+        runConcurrently(THREADS, i -> {
+            try {
+                allocationService.dropCourse(enrolled.getId(), course.getId());
+                dropped.incrementAndGet();
+            } catch (BusinessException e) {
+                assertThat(e).hasMessageContaining("approved");
+            }
+        });
+        
+        assertThat(dropped.get()).isEqualTo(1);
+        assertThat(courseRepository.findAvailableSeats(course.getId())).contains(1);
+        assertThat(waiting).extracting(student -> status(student, course))
+                .containsExactly(AllocationStatus.PENDING, AllocationStatus.WAITLISTED, AllocationStatus.WAITLISTED);
+    }
+    
+    @Test
+    void newRequestsQueueBehindANonEmptyWaitlist() {
+        Department department = testData.department();
+        Course course = testData.course(department, testData.semester(), testData.lecturer(department), 1);
+        Student enrolled = testData.student(department, 3.0);
+        Student first = testData.student(department, 3.0);
+        Student second = testData.student(department, 3.0);
+        Student newcomer = testData.student(department, 3.0);
+        
+        Allocation seat = enroll(enrolled, course);
+        allocationService.processEnrollmentRequest(
+                new ApprovalRequest(seat.getId(), AllocationStatus.APPROVED, null));
+        assertThat(enroll(first, course).getStatus()).isEqualTo(AllocationStatus.WAITLISTED);
+        assertThat(enroll(second, course).getStatus()).isEqualTo(AllocationStatus.WAITLISTED);
+        
+        // The drop frees the seat and promotes the first waitlisted request; the second still waits
+        allocationService.dropCourse(enrolled.getId(), course.getId());
+        assertThat(status(first, course)).isEqualTo(AllocationStatus.PENDING);
+        
+        assertThat(enroll(newcomer, course).getStatus()).isEqualTo(AllocationStatus.WAITLISTED);
+        assertThat(allocationService.getWaitlistPosition(newcomer.getId(), course.getId())).isEqualTo(2L);
+    }
+    
+    /**
+     * Run the task {@code count} times on {@link #THREADS} threads, released together, and rethrow the first failure.
+     */
+    private void runConcurrently(int count, IntConsumer task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.accept(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private int seats(Course course) {
+        return transactionTemplate.execute(status -> CAPACITY - courseRepository.findAvailableSeats(course.getId())
+                .orElseThrow());
+    }
+    
+    private Allocation enroll(Student student, Course course) {
+        return allocationService.enrollInCourse(student.getId(), new EnrollmentRequest(course.getId(), null));
+    }
+    
+    private AllocationStatus status(Student student, Course course) {
+        return allocationRepository.findByStudentIdAndCourseId(student.getId(), course.getId())
+                .orElseThrow()
+                .getStatus();
+    }
+}
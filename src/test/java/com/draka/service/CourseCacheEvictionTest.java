@@ -0,0 +1,110 @@
+package com.draka.service;
+
+import com.draka.TestData;
+import com.draka.dto.ApprovalRequest;
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.draka.entity.Department;
+import com.draka.entity.Lecturer;
+import com.draka.entity.Semester;
+import com.draka.enums.AllocationStatus;
+import com.draka.repository.AllocationRepository;
+import com.draka.repository.CourseRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seat counter updates must evict only the course they touch, not the whole course region,
+ * and course edits must not put counters they loaded back into the cache.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CourseCacheEvictionTest {
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private AllocationService allocationService;
+    
+    @Autowired
+    private AllocationRepository allocationRepository;
+    
+    @Autowired
+    private CourseRepository courseRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private CourseService courseService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void approvalEvictsOnlyTheApprovedCourse() {
+        Department department = testData.department();
+        Semester semester = testData.semester();
+        Lecturer lecturer = testData.lecturer(department);
+        Course approved = testData.course(department, semester, lecturer, 5);
+        Course untouched = testData.course(department, semester, lecturer, 5);
+        
+        Allocation allocation = new Allocation();
+        allocation.setStudent(testData.student(department, 3.0));
+        allocation.setCourse(approved);
+        allocation = allocationRepository.save(allocation);
+        
+        Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+        courseRepository.findById(approved.getId());
+        courseRepository.findById(untouched.getId());
+        assertThat(cache.contains(Course.class, approved.getId())).isTrue();
+        assertThat(cache.contains(Course.class, untouched.getId())).isTrue();
+        
+        allocationService.processEnrollmentRequest(
+                new ApprovalRequest(allocation.getId(), AllocationStatus.APPROVED, null));
+        
+        assertThat(cache.contains(Course.class, approved.getId())).isFalse();
+        assertThat(cache.contains(Course.class, untouched.getId())).isTrue();
+        Integer enrollment = transactionTemplate.execute(status ->
+                courseRepository.findById(approved.getId()).orElseThrow().getCurrentEnrollment());
+        assertThat(enrollment).isEqualTo(1);
+    }
+    
+    @Test
+    void courseEditDoesNotRecacheStaleCounters() {
+        Department department = testData.department();
+        Course course = testData.course(department, testData.semester(), testData.lecturer(department), 5);
+        
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Course.class, course.getId());
+        courseRepository.findById(course.getId());
+        assertThat(cache.contains(Course.class, course.getId())).isTrue();
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            courseService.updateGpaRequirement(course.getId(), 2.0);
+            // Seats claimed and committed by other requests while the edit is still open
+            CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                    "UPDATE courses SET current_enrollment = 3 WHERE id = ?", course.getId())).join();
+        });
+        
+        Course reloaded = transactionTemplate.execute(status ->
+                courseRepository.findById(course.getId()).orElseThrow());
+        assertThat(reloaded.getCurrentEnrollment()).isEqualTo(3);
+        assertThat(reloaded.getMinimumGpa()).isEqualTo(2.0);
+    }
+}
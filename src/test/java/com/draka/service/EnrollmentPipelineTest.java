@@ -0,0 +1,163 @@
+package com.draka.service;
+
+import com.draka.dto.AllocationSummary;
+import com.draka.dto.EnrollmentRequest;
+import com.draka.entity.Allocation;
+import com.draka.entity.Course;
+import com.draka.entity.Student;
+import com.draka.entity.User;
+import com.draka.exception.ServiceUnavailableException;
+import com.draka.metrics.EnrollmentMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pipeline behaviour that needs no database: shutdown and batch retries, with a stubbed
+ * AllocationService and a no-op transaction manager, on one partition.
+ */
+class EnrollmentPipelineTest {
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private final Map<Long, Supplier<Allocation>> enrollments = new ConcurrentHashMap<>();
+    
+    private final CountDownLatch gate = new CountDownLatch(1);
+    
+    private EnrollmentMetrics enrollmentMetrics;
+    
+    private EnrollmentPipeline pipeline;
+    
+    @BeforeEach
+    void setUp() {
+        enrollmentMetrics = new EnrollmentMetrics();
+        ReflectionTestUtils.setField(enrollmentMetrics, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(enrollmentMetrics, "init");
+        
+        AllocationService allocationService = mock(AllocationService.class);
+        when(allocationService.enrollWithinTransaction(anyLong(), any())).thenAnswer(invocation -> {
+            enrollmentMetrics.requested();
+            return enrollments.get(invocation.<Long>getArgument(0)).get();
+        });
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        
+        pipeline = new EnrollmentPipeline();
+        ReflectionTestUtils.setField(pipeline, "allocationService", allocationService);
+        ReflectionTestUtils.setField(pipeline, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(pipeline, "enrollmentMetrics", enrollmentMetrics);
+        ReflectionTestUtils.setField(pipeline, "enabled", true);
+        ReflectionTestUtils.setField(pipeline, "partitionCount", 1);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 64);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 100);
+        ReflectionTestUtils.setField(pipeline, "shutdownTimeoutMs", 5000L);
+        pipeline.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        gate.countDown();
+        pipeline.stop();
+    }
+    
+    @Test
+    void stopFailsQueuedCommands() throws Exception {
+        CompletableFuture<AllocationSummary> running = holdWorker();
+        CompletableFuture<AllocationSummary> queued = submit(2L, () -> allocation(2L));
+        
+        // stop() interrupts the held command, which finishes; the queued one never starts
+        pipeline.stop();
+        
+        assertThat(running.get(1, TimeUnit.SECONDS).getStudentId()).isEqualTo(1L);
+        assertThatThrownBy(() -> queued.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(() -> submit(3L, () -> allocation(3L)))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+    
+    @Test
+    void retryAfterFailedBatchCountsEachRequestOnce() throws Exception {
+        CompletableFuture<AllocationSummary> running = holdWorker();
+        AtomicInteger attempts = new AtomicInteger();
+        // Queued behind the held command, so both run in the next batch; the second fails it once
+        CompletableFuture<AllocationSummary> first = submit(2L, () -> allocation(2L));
+        CompletableFuture<AllocationSummary> second = submit(3L, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("connection reset");
+            }
+            return allocation(3L);
+        });
+        gate.countDown();
+        
+        running.get(5, TimeUnit.SECONDS);
+        assertThat(first.get(5, TimeUnit.SECONDS).getStudentId()).isEqualTo(2L);
+        assertThat(second.get(5, TimeUnit.SECONDS).getStudentId()).isEqualTo(3L);
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("enrollment.requests").count()).isEqualTo(3.0);
+    }
+    
+    /**
+     * Submit a command that keeps the worker busy until the gate opens or the worker is
+     * interrupted, so later submissions queue.
+     */
+    private CompletableFuture<AllocationSummary> holdWorker() {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<AllocationSummary> future = submit(1L, () -> {
+            started.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return allocation(1L);
+        });
+        try {
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return future;
+    }
+    
+    private CompletableFuture<AllocationSummary> submit(Long studentId, Supplier<Allocation> enrollment) {
+        enrollments.put(studentId, enrollment);
+        return pipeline.submitEnrollment(studentId, new EnrollmentRequest(10L, null));
+    }
+    
+    private static Allocation allocation(Long studentId) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("Student");
+        Student student = new Student();
+        student.setId(studentId);
+        student.setUser(user);
+        Course course = new Course();
+        course.setId(10L);
+        Allocation allocation = new Allocation();
+        allocation.setStudent(student);
+        allocation.setCourse(course);
+        return allocation;
+    }
+}
@@ -0,0 +1,135 @@
+package com.draka.service;
+
+import com.draka.TestData;
+import com.draka.entity.Department;
+import com.draka.entity.Lecturer;
+import com.draka.entity.Semester;
+import com.draka.enums.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports must stream: the heap retained while exporting stays flat however many rows
+ * there are. A scaled-down version of the registrar export (200k rows instead of 1M).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportServiceTest {
+    
+    private static final int STUDENTS = 500;
+    
+    private static final int COURSES = 400;
+    
+    private static final int ROWS = STUDENTS * COURSES;
+    
+    /**
+     * Materialized, the rows below take about 50 MB. H2 shares the heap and holds some
+     * query state of its own once the cursor is open, hence the allowance.
+     */
+    private static final long MAX_RETAINED_BYTES = 24 * 1024 * 1024;
+    
+    /** Growth allowed between the first and the last sample while rows are written. */
+    private static final long MAX_GROWTH_BYTES = 2 * 1024 * 1024;
+    
+    /** Sample the retained heap after every this many bytes of output. */
+    private static final long SAMPLE_EVERY_BYTES = 1024 * 1024;
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void exportKeepsHeapFlat() {
+        Department department = testData.department();
+        Semester semester = testData.semester();
+        Lecturer lecturer = testData.lecturer(department);
+        for (int i = 0; i < STUDENTS; i++) {
+            testData.student(department, 3.0);
+        }
+        for (int i = 0; i < COURSES; i++) {
+            testData.course(department, semester, lecturer, STUDENTS);
+        }
+        // Every student in every course of the semester, in one statement
+        int inserted = jdbcTemplate.update(
+                "INSERT INTO allocations (id, student_id, course_id, status, created_at) "
+                        + "SELECT NEXT VALUE FOR allocations_seq, s.id, c.id, 'APPROVED', CURRENT_TIMESTAMP "
+                        + "FROM students s CROSS JOIN courses c "
+                        + "WHERE s.department_id = ? AND c.semester_id = ?",
+                department.getId(), semester.getId());
+        assertThat(inserted).isEqualTo(ROWS);
+        
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+        exportService.exportAllocations(semester.getId(), null, null, ExportFormat.CSV, out);
+        
+        assertThat(out.lines).isEqualTo(ROWS + 1);
+        assertThat(out.maxRetained - out.baseline)
+                .as("heap retained while exporting %d rows", ROWS)
+                .isLessThan(MAX_RETAINED_BYTES);
+        assertThat(out.lastRetained - out.firstRetained)
+                .as("heap growth from the first to the last sample")
+                .isLessThan(MAX_GROWTH_BYTES);
+    }
+    
+    /**
+     * Discards the export, counting lines and sampling the heap still in use after a
+     * full GC while rows are being written.
+     */
+    private static class HeapSamplingOutputStream extends OutputStream {
+        
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        
+        private final long baseline = retainedHeap();
+        
+        private long maxRetained = baseline;
+        
+        private long firstRetained = -1;
+        
+        private long lastRetained;
+        
+        private long bytes;
+        
+        private long lines;
+        
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+            long before = bytes;
+            bytes += len;
+            if (bytes / SAMPLE_EVERY_BYTES != before / SAMPLE_EVERY_BYTES) {
+                lastRetained = retainedHeap();
+                if (firstRetained < 0) {
+                    firstRetained = lastRetained;
+                }
+                maxRetained = Math.max(maxRetained, lastRetained);
+            }
+        }
+        
+        private long retainedHeap() {
+            System.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+    }
+}
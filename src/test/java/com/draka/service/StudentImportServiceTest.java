@@ -0,0 +1,180 @@
+package com.draka.service;
+
+import com.draka.TestData;
+import com.draka.dto.StudentImportError;
+import com.draka.dto.StudentImportResult;
+import com.draka.entity.Student;
+import com.draka.entity.User;
+import com.draka.exception.BusinessException;
+import com.draka.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * CSV parsing, the checks made before anything is written, and the row-by-row retry of a
+ * chunk that fails on insert. Line numbers count the header as line 1 and every line
+ * break, including those inside quoted fields.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentImportServiceTest {
+    
+    private static final String HEADER = "username,email,password,first_name,last_name,student_id,department_code";
+    
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    
+    @Autowired
+    private StudentImportService studentImportService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TestData testData;
+    
+    private String department;
+    
+    @BeforeEach
+    void setUp() {
+        department = testData.department().getCode();
+    }
+    
+    @Test
+    void quotedFieldsBomAndCrlf() {
+        String ada = name();
+        String twoLines = name();
+        String badEmail = name();
+        String csv = "\uFEFF" + HEADER + "\r\n"
+                + ada + "," + ada + "@test.local,secret1,\"Ada, Countess\",\"Byron \"\"Lovelace\"\"\","
+                + ada + "," + department + "\r\n"
+                + twoLines + "," + twoLines + "@test.local,secret1,\"Two\r\nLines\",Smith,"
+                + twoLines + "," + department + "\r\n"
+                + badEmail + ",not-an-email,secret1,Bad,Email," + badEmail + "," + department + "\r\n";
+        
+        StudentImportResult result = studentImportService.importCsv(stream(csv));
+        
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).containsExactly(new StudentImportError(5L, badEmail, "Email should be valid"));
+        User user = userRepository.findByUsername(ada).orElseThrow();
+        assertThat(user.getFirstName()).isEqualTo("Ada, Countess");
+        assertThat(user.getLastName()).isEqualTo("Byron \"Lovelace\"");
+        assertThat(userRepository.findByUsername(twoLines).orElseThrow().getFirstName()).isEqualTo("Two\r\nLines");
+    }
+    
+    @Test
+    void malformedLineIsReportedWhereItsRecordStarts() {
+        String first = name();
+        String csv = HEADER + "\n"
+                + first + "," + first + "@test.local,secret1,\"Multi\nLine\",Smith," + first + "," + department + "\n"
+                + "broken,broken@test.local,secret1,\"Unterminated,Smith,S1," + department + "\n";
+        
+        assertThatThrownBy(() -> studentImportService.importCsv(stream(csv)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Malformed CSV at line 4: unterminated quoted field");
+        assertThat(userRepository.findByUsername(first)).isEmpty();
+    }
+    
+    @Test
+    void duplicatesInTheFileAndTheDatabase() {
+        Student existing = testData.student(testData.department(), 3.0);
+        String kept = name();
+        String csv = String.join("\n",
+                HEADER,
+                row(kept, kept + "@test.local", kept, department),
+                row(kept, name() + "@test.local", name(), department),
+                row(name(), kept + "@test.local", name(), department),
+                row(existing.getUser().getUsername(), name() + "@test.local", name(), department),
+                row(name(), name() + "@test.local", existing.getStudentId(), department),
+                row(name(), existing.getUser().getEmail(), name(), department),
+                row(name(), name() + "@test.local", name(), "NOPE"));
+        
+        StudentImportResult result = studentImportService.importCsv(stream(csv));
+        
+        assertThat(result.getTotalRows()).isEqualTo(7);
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(StudentImportError::getLine, StudentImportError::getMessage)
+                .containsExactly(
+                        tuple(3L, "Duplicate username, first used on line 2"),
+                        tuple(4L, "Duplicate email, first used on line 2"),
+                        tuple(5L, "Username is already taken"),
+                        tuple(6L, "Student ID is already in use"),
+                        tuple(7L, "Email is already in use"),
+                        tuple(8L, "Department not found with code: 'NOPE'"));
+        assertThat(userRepository.findByUsername(kept)).isPresent();
+    }
+    
+    /**
+     * Two imports share their last row. Both check the database before either has written,
+     * so the row only collides on insert: the losing import's chunk fails, is retried row by
+     * row, and reports just that row while the rest of its chunk is saved.
+     */
+    @Test
+    void failedChunkIsRetriedRowByRow() throws Exception {
+        int rows = 6;
+        String shared = name();
+        List<String> files = new ArrayList<>();
+        for (int file = 0; file < 2; file++) {
+            List<String> lines = new ArrayList<>(List.of(HEADER));
+            for (int i = 1; i < rows; i++) {
+                String username = name();
+                lines.add(row(username, username + "@test.local", username, department));
+            }
+            lines.add(row(shared, shared + "@test.local", shared, department));
+            files.add(String.join("\n", lines));
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<StudentImportResult>> imports = new ArrayList<>();
+            for (String file : files) {
+                imports.add(executor.submit(() -> {
+                    start.await();
+                    return studentImportService.importCsv(stream(file));
+                }));
+            }
+            start.countDown();
+            List<StudentImportResult> results = new ArrayList<>();
+            for (Future<StudentImportResult> future : imports) {
+                results.add(future.get());
+            }
+            
+            assertThat(results).extracting(StudentImportResult::getImported)
+                    .containsExactlyInAnyOrder(rows, rows - 1);
+            assertThat(results).flatExtracting(StudentImportResult::getErrors)
+                    .containsExactly(new StudentImportError((long) rows + 1, shared,
+                            "Username, email or student ID is already in use"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private static String row(String username, String email, String studentId, String departmentCode) {
+        return String.join(",", username, email, "secret1", "Test", "Student", studentId, departmentCode);
+    }
+    
+    private static String name() {
+        return "import" + SEQUENCE.incrementAndGet();
+    }
+    
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
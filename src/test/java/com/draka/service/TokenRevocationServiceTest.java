@@ -0,0 +1,64 @@
+package com.draka.service;
+
+import com.draka.repository.TokenRevocationRepository;
+import com.draka.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Revoking all of a user's tokens against the one-second resolution of iat. Tokens issued
+ * in the second of the revocation or earlier are revoked, later ones are not.
+ */
+class TokenRevocationServiceTest {
+    
+    private TokenRevocationService tokenRevocationService;
+    
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService();
+        ReflectionTestUtils.setField(tokenRevocationService, "tokenRevocationRepository",
+                mock(TokenRevocationRepository.class));
+        ReflectionTestUtils.setField(tokenRevocationService, "jwtUtils", mock(JwtUtils.class));
+        ReflectionTestUtils.setField(tokenRevocationService, "jwtExpirationMs", 600_000L);
+        ReflectionTestUtils.setField(tokenRevocationService, "refreshIntervalMs", 600_000L);
+        ReflectionTestUtils.invokeMethod(tokenRevocationService, "init");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(tokenRevocationService, "stop");
+    }
+    
+    @Test
+    void revocationCoversItsWholeSecond() {
+        long before = System.currentTimeMillis();
+        tokenRevocationService.revokeAllForUser("alice");
+        long after = System.currentTimeMillis();
+        
+        long secondOfRevocation = before / 1000 * 1000;
+        assertThat(tokenRevocationService.isRevoked(claims("alice", secondOfRevocation - 1000))).isTrue();
+        // Issued earlier in the same second as the revocation, but its iat cannot say so
+        assertThat(tokenRevocationService.isRevoked(claims("alice", secondOfRevocation))).isTrue();
+        assertThat(tokenRevocationService.isRevoked(claims("alice", after / 1000 * 1000 + 1000))).isFalse();
+        assertThat(tokenRevocationService.isRevoked(claims("bob", secondOfRevocation))).isFalse();
+    }
+    
+    /**
+     * Claims as a parsed token carries them: iat in whole seconds.
+     */
+    private static Claims claims(String username, long issuedAtMillis) {
+        return Jwts.claims()
+                .subject(username)
+                .issuedAt(new Date(issuedAtMillis))
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.draka.service;
+
+import com.draka.dto.WaitingRoomStatus;
+import com.draka.security.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Admission order in the waiting room. The admit rate is close to zero, so admissions
+ * come only from the credit each test grants explicitly.
+ */
+class WaitingRoomServiceTest {
+    
+    private static final long IDLE_TIMEOUT_MS = 500;
+    
+    private WaitingRoomService waitingRoom;
+    
+    @BeforeEach
+    void setUp() {
+        JwtUtils jwtUtils = mock(JwtUtils.class);
+        when(jwtUtils.generateAdmissionToken(anyString(), anyLong())).thenReturn("admission");
+        
+        waitingRoom = new WaitingRoomService();
+        ReflectionTestUtils.setField(waitingRoom, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(waitingRoom, "dataSource", mock(DataSource.class));
+        ReflectionTestUtils.setField(waitingRoom, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(waitingRoom, "enabled", true);
+        ReflectionTestUtils.setField(waitingRoom, "admitRatePerSecond", 0.001);
+        ReflectionTestUtils.setField(waitingRoom, "maxQueueSize", 100);
+        ReflectionTestUtils.setField(waitingRoom, "tokenTtlMs", 600_000L);
+        ReflectionTestUtils.setField(waitingRoom, "ticketIdleTimeoutMs", IDLE_TIMEOUT_MS);
+        ReflectionTestUtils.invokeMethod(waitingRoom, "init");
+    }
+    
+    @Test
+    void liveTicketsAreAdmittedInOrder() {
+        waitingRoom.join("first");
+        assertThat(waitingRoom.join("second").getPosition()).isEqualTo(2);
+        
+        grantAdmissions(1);
+        assertThat(waitingRoom.join("second").getAdmitted()).isFalse();
+        assertThat(waitingRoom.join("first").getAdmitted()).isTrue();
+    }
+    
+    @Test
+    void idleTicketsArePassedOverWithoutUsingAnAdmission() throws InterruptedException {
+        waitingRoom.join("abandoned-1");
+        waitingRoom.join("abandoned-2");
+        Thread.sleep(IDLE_TIMEOUT_MS * 2);
+        
+        assertThat(waitingRoom.join("waiting").getPosition()).isEqualTo(1);
+        grantAdmissions(1);
+        WaitingRoomStatus status = waitingRoom.join("waiting");
+        assertThat(status.getAdmitted()).isTrue();
+        assertThat(status.getAdmissionToken()).isEqualTo("admission");
+        
+        // A passed-over holder who comes back starts again at the back
+        WaitingRoomStatus returning = waitingRoom.join("abandoned-1");
+        assertThat(returning.getAdmitted()).isFalse();
+        assertThat(returning.getPosition()).isEqualTo(1);
+    }
+    
+    private void grantAdmissions(int admissions) {
+        ReflectionTestUtils.setField(waitingRoom, "admissionCredit", (double) admissions);
+    }
+}